@@ -1,5 +1,6 @@
 package com.discord.LocalAIDiscordAgent.comfyui.service;
 
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -9,7 +10,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.net.URI;
 import java.net.URLEncoder;
@@ -32,19 +32,21 @@ public class ComfyuiService {
     private final RestClient restClient;
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final BlockingSchedulers schedulers;
 
     @Value("${comfyui.ws-base-url}")
     private String wsBaseUrl;
 
-    public ComfyuiService(RestClient restClient, HttpClient httpClient) {
+    public ComfyuiService(RestClient restClient, HttpClient httpClient, BlockingSchedulers schedulers) {
         this.restClient = restClient;
         this.httpClient = httpClient;
         this.objectMapper = new ObjectMapper();
+        this.schedulers = schedulers;
     }
 
     public Mono<GeneratedFile> runGenerationWorkflow(Map<String, Object> workflow) {
         return Mono.fromCallable(() -> runGenerationWorkflowBlocking(workflow))
-                .subscribeOn(Schedulers.boundedElastic());
+                .subscribeOn(schedulers.http());
     }
 
     private GeneratedFile runGenerationWorkflowBlocking(Map<String, Object> workflow) {
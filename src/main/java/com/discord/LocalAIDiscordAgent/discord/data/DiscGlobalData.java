@@ -1,5 +1,6 @@
 package com.discord.LocalAIDiscordAgent.discord.data;
 
+import com.discord.LocalAIDiscordAgent.llm.llmPreflight.records.PreflightDecision;
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.longTermMemory.LongTermMemoryService.LongTermMemoryData;
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.model.RecentChatMemory;
 import com.discord.LocalAIDiscordAgent.llm.systemMessage.records.SystemMsgRecords.GroupMemory;
@@ -34,6 +35,7 @@ public class DiscGlobalData {
     private List<LongTermMemoryData> longTermMemoryData = List.of();
     private List<RecentChatMemory> userMessages = List.of();
     private List<RecentChatMemory> assistantMessages = List.of();
+    private PreflightDecision preflightDecision;
 
     public DiscGlobalData(
             String userId,
@@ -77,6 +79,10 @@ public class DiscGlobalData {
         setLastAssistantMessage();
     }
 
+    public void setPreflightDecision(PreflightDecision preflightDecision) {
+        this.preflightDecision = preflightDecision;
+    }
+
     public boolean isValid() {
         return !isBlank(userId)
                 && !isBlank(channelId)
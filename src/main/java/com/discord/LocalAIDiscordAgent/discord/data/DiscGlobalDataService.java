@@ -2,32 +2,55 @@ package com.discord.LocalAIDiscordAgent.discord.data;
 
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.service.GroupChatMemoryService;
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.longTermMemory.LongTermMemoryService;
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.longTermMemory.LongTermMemoryService.LongTermMemoryData;
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.model.RecentChatMemory;
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.service.RecentChatMemoryService;
+import com.discord.LocalAIDiscordAgent.llm.systemMessage.records.SystemMsgRecords.GroupMemory;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
 import discord4j.common.util.Snowflake;
 import discord4j.core.event.domain.message.MessageCreateEvent;
 import discord4j.core.object.entity.Member;
 import discord4j.core.object.entity.Message;
 import discord4j.core.object.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.MessageType;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+@Slf4j
 @Service
 public class DiscGlobalDataService {
 
     private final ObjectProvider<GroupChatMemoryService> groupChatMemoryServiceProvider;
     private final ObjectProvider<RecentChatMemoryService> recentChatMemoryServiceProvider;
     private final ObjectProvider<LongTermMemoryService> longTermMemoryServiceProvider;
+    private final Duration chatMemoryTimeout;
+    private final Duration longTermMemoryTimeout;
+    private final BlockingSchedulers schedulers;
 
     public DiscGlobalDataService(
             ObjectProvider<GroupChatMemoryService> groupChatMemoryServiceProvider,
             ObjectProvider<RecentChatMemoryService> recentChatMemoryServiceProvider,
-            ObjectProvider<LongTermMemoryService> longTermMemoryServiceProvider
+            ObjectProvider<LongTermMemoryService> longTermMemoryServiceProvider,
+            BlockingSchedulers schedulers,
+            @Value("${memory.enrichment.chat.timeout.seconds}") long chatMemoryTimeoutSeconds,
+            @Value("${memory.enrichment.long.term.timeout.seconds}") long longTermMemoryTimeoutSeconds
     ) {
         this.groupChatMemoryServiceProvider = groupChatMemoryServiceProvider;
         this.recentChatMemoryServiceProvider = recentChatMemoryServiceProvider;
         this.longTermMemoryServiceProvider = longTermMemoryServiceProvider;
+        this.schedulers = schedulers;
+        this.chatMemoryTimeout = Duration.ofSeconds(chatMemoryTimeoutSeconds);
+        this.longTermMemoryTimeout = Duration.ofSeconds(longTermMemoryTimeoutSeconds);
     }
 
     public Mono<DiscGlobalData> build(MessageCreateEvent event) {
@@ -78,12 +101,17 @@ public class DiscGlobalDataService {
                         return Mono.just(discGlobalData);
                     }
 
-                    return Mono.fromCallable(() -> enrichMemory(discGlobalData))
-                            .subscribeOn(Schedulers.boundedElastic());
+                    return enrichMemory(discGlobalData);
                 });
     }
 
-    private DiscGlobalData enrichMemory(DiscGlobalData discGlobalData) {
+    /**
+     * Group memory, recent memory and the long-term vector search are independent, so they load
+     * concurrently and enrichment costs the slowest of them rather than their sum. Each load has its own
+     * timeout; a load that fails or times out is left empty instead of failing the request. The recent
+     * conversation is queried once and used for both the recent messages and the user/assistant map.
+     */
+    private Mono<DiscGlobalData> enrichMemory(DiscGlobalData discGlobalData) {
         GroupChatMemoryService groupChatMemoryService = groupChatMemoryServiceProvider.getObject();
         RecentChatMemoryService recentChatMemoryService = recentChatMemoryServiceProvider.getObject();
         LongTermMemoryService longTermMemoryService = longTermMemoryServiceProvider.getObject();
@@ -92,14 +120,40 @@ public class DiscGlobalDataService {
         recentChatMemoryService.setDiscGlobalData(discGlobalData);
         longTermMemoryService.setDiscGlobalData(discGlobalData);
 
-        discGlobalData.setDiscDataMemory(
-                groupChatMemoryService.buildMessageMemory(),
-                recentChatMemoryService.buildMessageMemory(),
-                longTermMemoryService.getLongTermMemory(),
-                recentChatMemoryService.getChatMemoryAsMap()
-        );
+        Mono<Optional<GroupMemory>> groupMemory =
+                load("group chat memory", schedulers.database(), chatMemoryTimeout, groupChatMemoryService::buildMessageMemory);
+
+        Mono<Optional<Map<MessageType, List<RecentChatMemory>>>> recentMemory =
+                load("recent chat memory", schedulers.database(), chatMemoryTimeout, recentChatMemoryService::getChatMemoryAsMap);
+
+        Mono<Optional<List<LongTermMemoryData>>> longTermMemory =
+                load("long-term memory", schedulers.llm(), longTermMemoryTimeout, longTermMemoryService::getLongTermMemory);
+
+        return Mono.zip(groupMemory, recentMemory, longTermMemory)
+                .map(loaded -> {
+                    Map<MessageType, List<RecentChatMemory>> recentMap = loaded.getT2().orElse(null);
+
+                    discGlobalData.setDiscDataMemory(
+                            loaded.getT1().orElse(null),
+                            recentChatMemoryService.buildMessageMemory(recentMap),
+                            loaded.getT3().orElse(null),
+                            recentMap
+                    );
 
-        return discGlobalData;
+                    return discGlobalData;
+                });
+    }
+
+    private <T> Mono<Optional<T>> load(String name, Scheduler scheduler, Duration timeout, Callable<T> loader) {
+        return Mono.fromCallable(loader)
+                .subscribeOn(scheduler)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .timeout(timeout)
+                .onErrorResume(error -> {
+                    log.warn("Memory enrichment: {} skipped: {}", name, error.toString());
+                    return Mono.just(Optional.empty());
+                });
     }
 
     private String extractUserMessage(String content, Snowflake botId) {
@@ -3,6 +3,7 @@ package com.discord.LocalAIDiscordAgent.discord.listener;
 import com.discord.LocalAIDiscordAgent.comfyui.service.ComfyuiService;
 import com.discord.LocalAIDiscordAgent.discord.data.DiscGlobalData;
 import com.discord.LocalAIDiscordAgent.discord.data.DiscGlobalDataContextHolder;
+import com.discord.LocalAIDiscordAgent.discord.service.StatusMessageEditService;
 import com.discord.LocalAIDiscordAgent.llm.llmChat.service.LLMChatService;
 import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision;
 import com.discord.LocalAIDiscordAgent.llm.llmChains.llmCallChains.LLMCallChain;
@@ -14,7 +15,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.io.ByteArrayInputStream;
 import java.time.Duration;
@@ -28,13 +28,18 @@ import java.util.stream.Collectors;
 public abstract class MessageListener {
 
     private static final int DISCORD_MAX_MESSAGE_LEN = 2000;
+    private static final Duration STREAM_EDIT_INTERVAL = Duration.ofSeconds(1);
+    private static final int STREAM_MAX_DELTAS_PER_EDIT = 256;
+    private static final String EMPTY_REPLY = "I'm sorry, I didn't understand you.";
 
     public Mono<Void> processCommandAI(
             Message eventMessage,
             Message statusMessage,
+            RouteDecision decision,
             UserService userService,
             LLMChatService LLMChatService,
-            LLMCallChain llmCallChain
+            LLMCallChain llmCallChain,
+            StatusMessageEditService statusEdits
     ) {
         return DiscGlobalDataContextHolder.get()
                 .flatMap(discGlobalData ->
@@ -42,17 +47,7 @@ public abstract class MessageListener {
                                 .filter(message -> message.getAuthor().map(user -> !user.isBot()).orElse(false))
                                 .flatMap(message -> {
 
-                                    UserEntity user = userService.getUser(discGlobalData);
-
-                                    if (user == null) {
-                                        user = userService.buildUser(discGlobalData);
-                                        userService.saveUser(user);
-                                    } else if (!discGlobalData.getServerNickname().equals(user.getServerNickname())) {
-                                        userService.updateUser(user, discGlobalData.getServerNickname());
-                                    }
-
-                                    UserEntity finalUser = user;
-                                    RouteDecision decision = llmCallChain.decideRoute(discGlobalData);
+                                    UserEntity finalUser = userService.resolveUser(discGlobalData);
                                     String username = finalUser.getServerNickname() +": ";
 
                                     return switch (decision.mode()) {
@@ -62,22 +57,26 @@ public abstract class MessageListener {
                                                 finalUser,
                                                 discGlobalData,
                                                 LLMChatService,
+                                                statusEdits,
                                                 decision.requiresContext()
                                         );
                                         case IMAGE -> handleGeneratedCommand(
                                                 statusMessage,
+                                                statusEdits,
                                                 llmCallChain.executeImageChain(discGlobalData, decision.requiresContext()),
                                                 username + "Generating your image.",
                                                 username + "Image generation complete."
                                         );
                                         case VIDEO -> handleGeneratedCommand(
                                                 statusMessage,
+                                                statusEdits,
                                                 llmCallChain.executeVideoChain(discGlobalData, decision.requiresContext()),
                                                 username + "Generating your video.",
                                                 username + "Video generation complete."
                                         );
                                         case MUSIC -> handleGeneratedCommand(
                                                 statusMessage,
+                                                statusEdits,
                                                 llmCallChain.executeMusicChain(discGlobalData, decision.requiresContext()),
                                                 username + "Generating your music." ,
                                                 username + "Music generation complete."
@@ -102,26 +101,23 @@ public abstract class MessageListener {
             UserEntity user,
             DiscGlobalData discGlobalData,
             LLMChatService LLMChatService,
+            StatusMessageEditService statusEdits,
             boolean requiresContext
     ) {
+        if (LLMChatService.isStreamingEnabled()) {
+            return handleStreamingTextCommand(message, statusMessage, user, discGlobalData, LLMChatService, statusEdits, requiresContext);
+        }
+
         return LLMChatService.generateLLMResponse(user, discGlobalData, requiresContext)
                 .flatMap(response -> {
                     String cleanedResponse = cleanResponse(response);
                     List<String> chunks = splitIntoChunks(cleanedResponse, DISCORD_MAX_MESSAGE_LEN);
 
                     if (chunks.isEmpty()) {
-                        return statusMessage.edit(
-                                MessageEditSpec.builder()
-                                        .contentOrNull("I'm sorry, I didn't understand you.")
-                                        .build()
-                        ).then();
+                        return statusEdits.edit(statusMessage, EMPTY_REPLY);
                     }
 
-                    Mono<Void> first = statusMessage.edit(
-                            MessageEditSpec.builder()
-                                    .contentOrNull(chunks.getFirst())
-                                    .build()
-                    ).then();
+                    Mono<Void> first = statusEdits.edit(statusMessage, chunks.getFirst());
 
                     if (chunks.size() == 1) {
                         return first;
@@ -136,41 +132,94 @@ public abstract class MessageListener {
                 });
     }
 
+    /**
+     * Appends streamed deltas to the status message in batches, rolling over into new channel messages
+     * whenever the current one would exceed the Discord length limit. Every edit goes through the same
+     * line normalization as {@link #cleanResponse(String)}, and an empty stream gets the same fallback.
+     */
+    private Mono<Void> handleStreamingTextCommand(
+            Message message,
+            Message statusMessage,
+            UserEntity user,
+            DiscGlobalData discGlobalData,
+            LLMChatService LLMChatService,
+            StatusMessageEditService statusEdits,
+            boolean requiresContext
+    ) {
+        StreamingReply reply = new StreamingReply(statusMessage);
+
+        return LLMChatService.streamLLMResponse(user, discGlobalData, requiresContext)
+                .bufferTimeout(STREAM_MAX_DELTAS_PER_EDIT, STREAM_EDIT_INTERVAL)
+                .concatMap(deltas -> appendStreamedText(message, reply, String.join("", deltas), statusEdits))
+                .then(Mono.defer(() -> {
+                    if (!reply.hasText()) {
+                        return statusEdits.edit(reply.current, EMPTY_REPLY);
+                    }
+                    return Mono.empty();
+                }));
+    }
+
+    private Mono<Void> appendStreamedText(
+            Message message,
+            StreamingReply reply,
+            String delta,
+            StatusMessageEditService statusEdits
+    ) {
+        reply.text.append(delta);
+
+        String raw = reply.text.toString();
+        String cleaned = normalizeLines(raw);
+        if (cleaned.isEmpty()) {
+            return Mono.empty();
+        }
+
+        if (cleaned.length() <= DISCORD_MAX_MESSAGE_LEN) {
+            return statusEdits.edit(reply.current, cleaned)
+                    .onErrorResume(error -> Mono.empty());
+        }
+
+        List<String> chunks = splitIntoChunks(cleaned, DISCORD_MAX_MESSAGE_LEN);
+        reply.text.setLength(0);
+        // keep the raw trailing whitespace, or the next delta would be glued onto the last word
+        reply.text.append(chunks.getLast()).append(trailingWhitespace(raw));
+
+        return statusEdits.edit(reply.current, chunks.getFirst())
+                .onErrorResume(error -> Mono.empty())
+                .then(message.getChannel()
+                        .flatMap(channel -> Flux.fromIterable(chunks.subList(1, chunks.size()))
+                                .concatMap(channel::createMessage)
+                                .last()))
+                .doOnNext(created -> reply.current = created)
+                .then();
+    }
+
     private Mono<Void> handleGeneratedCommand(
             Message statusMessage,
+            StatusMessageEditService statusEdits,
             Mono<ComfyuiService.GeneratedFile> generationMono,
             String queuedText,
             String doneText
     ) {
         Mono<ComfyuiService.GeneratedFile> sharedGeneration = generationMono.cache();
 
-        Mono<Void> initialProcessingEdit = statusMessage.edit(
-                MessageEditSpec.builder()
-                        .contentOrNull(queuedText + setTimer(0))
-                        .build()
-        ).then().onErrorResume(error -> Mono.empty());
+        Mono<Void> initialProcessingEdit = statusEdits.edit(statusMessage, queuedText + setTimer(0))
+                .onErrorResume(error -> Mono.empty());
 
         Mono<Void> progressUpdates = Flux.interval(Duration.ofSeconds(5))
                 .takeUntilOther(sharedGeneration.materialize())
                 .concatMap(tick ->
-                        statusMessage.edit(
-                                        MessageEditSpec.builder()
-                                                .contentOrNull(queuedText + setTimer((tick + 1) * 5 - 5))
-                                                .build()
-                                )
+                        statusEdits.edit(statusMessage, queuedText + setTimer((tick + 1) * 5 - 5))
                                 .onErrorResume(error -> Mono.empty())
                 )
                 .then();
 
         Mono<Void> completionFlow = sharedGeneration
-                .flatMap(file -> editGeneratedMessage(statusMessage, file, doneText))
+                .flatMap(file -> {
+                    statusEdits.discard(statusMessage);
+                    return editGeneratedMessage(statusMessage, file, doneText);
+                })
                 .onErrorResume(error ->
-                        statusMessage.edit(
-                                        MessageEditSpec.builder()
-                                                .contentOrNull("Generation failed: " + safeMessage(error))
-                                                .build()
-                                )
-                                .then()
+                        statusEdits.edit(statusMessage, "Generation failed: " + safeMessage(error))
                 );
 
         return initialProcessingEdit.then(Mono.when(progressUpdates, completionFlow)).then();
@@ -191,20 +240,12 @@ public abstract class MessageListener {
 
         String filename = resolveFilename(file);
 
-        return Mono.fromCallable(() -> new ByteArrayInputStream(file.bytes()))
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(inputStream ->
-                        statusMessage.edit(
-                                MessageEditSpec.builder()
-                                        .contentOrNull(doneText)
-                                        .addFile(filename, inputStream)
-                                        .build()
-                        ).publishOn(Schedulers.boundedElastic()).doFinally(signal -> {
-                            try {
-                                inputStream.close();
-                            } catch (Exception ignored) {
-                            }
-                        })
+        // the bytes are already in memory, so neither building the stream nor closing it blocks
+        return statusMessage.edit(
+                        MessageEditSpec.builder()
+                                .contentOrNull(doneText)
+                                .addFile(filename, new ByteArrayInputStream(file.bytes()))
+                                .build()
                 )
                 .then();
     }
@@ -221,20 +262,36 @@ public abstract class MessageListener {
     }
 
     private static String cleanResponse(String response) {
-        if (response == null || response.isBlank()) {
-            return "I'm sorry, I didn't understand you.";
+        String cleaned = normalizeLines(response);
+        return cleaned.isEmpty() ? EMPTY_REPLY : cleaned;
+    }
+
+    /**
+     * Trims every line and drops blank ones; empty if nothing is left.
+     */
+    private static String normalizeLines(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
         }
 
-        return Arrays.stream(response.split("\\R"))
+        return Arrays.stream(text.split("\\R"))
                 .map(String::trim)
                 .filter(line -> !line.isEmpty())
                 .collect(Collectors.joining("\n"));
     }
 
+    private static String trailingWhitespace(String text) {
+        int end = text.length();
+        while (end > 0 && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(end);
+    }
+
     private static List<String> splitIntoChunks(String s, int maxLen) {
         List<String> chunks = new ArrayList<>();
         if (s == null || s.isBlank()) {
-            chunks.add("I'm sorry, I didn't understand you.");
+            chunks.add(EMPTY_REPLY);
             return chunks;
         }
 
@@ -248,4 +305,17 @@ public abstract class MessageListener {
         String msg = error.getMessage();
         return (msg == null || msg.isBlank()) ? error.getClass().getSimpleName() : msg;
     }
-}
\ No newline at end of file
+
+    private static final class StreamingReply {
+        private final StringBuilder text = new StringBuilder();
+        private Message current;
+
+        private StreamingReply(Message statusMessage) {
+            this.current = statusMessage;
+        }
+
+        private boolean hasText() {
+            return !normalizeLines(text.toString()).isEmpty();
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.discord.LocalAIDiscordAgent.discord.service;
 
+import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision.Mode;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
@@ -10,64 +12,229 @@ import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 
 import java.time.Duration;
-import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 @Slf4j
 @Service
 public class DiscordRequestQueueService {
 
-    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(3);
+    private static final Duration POSITION_UPDATE_INTERVAL = Duration.ofSeconds(2);
 
-    private final Sinks.Many<QueuedRequest> sink =
-            Sinks.many().unicast().onBackpressureBuffer();
+    private final Map<Mode, Lane> lanes = new EnumMap<>(Mode.class);
 
     private final ConcurrentMap<String, InternalAdmission> inFlightRequests = new ConcurrentHashMap<>();
-    private final List<InternalAdmission> pendingQueue = new ArrayList<>();
 
-    private final Object emitLock = new Object();
-    private final Object queueLock = new Object();
+    private final int routingConcurrency;
+    private final Sinks.Many<Mono<Void>> routingTasks = Sinks.many().unicast().onBackpressureBuffer();
+    private final Object routingLock = new Object();
+    private Disposable routingWorker;
+
+    private final Map<String, Integer> guildWeights = new HashMap<>();
+    private final Map<String, Integer> userWeights = new HashMap<>();
+    private final Map<String, KeyUsage> keyUsage = new HashMap<>();
+    private final Object usageLock = new Object();
 
     private final AtomicBoolean acceptingRequests = new AtomicBoolean(false);
 
-    private Disposable worker;
+    @Value("${discord.queue.fair.enabled}")
+    private boolean fairQueueing;
+
+    @Value("${discord.queue.fair.user.max.pending}")
+    private int userMaxPending;
+
+    @Value("${discord.queue.fair.user.max.in.flight}")
+    private int userMaxInFlight;
+
+    @Value("${discord.queue.fair.guild.max.pending}")
+    private int guildMaxPending;
+
+    @Value("${discord.queue.fair.guild.max.in.flight}")
+    private int guildMaxInFlight;
+
+    @Value("${discord.queue.fair.guild.weights}")
+    private String guildWeightsProperty;
+
+    @Value("${discord.queue.fair.user.weights}")
+    private String userWeightsProperty;
+
+    public DiscordRequestQueueService(
+            @Value("${discord.queue.lane.text.concurrency}") int textConcurrency,
+            @Value("${discord.queue.lane.text.timeout.minutes}") long textTimeoutMinutes,
+            @Value("${discord.queue.lane.image.concurrency}") int imageConcurrency,
+            @Value("${discord.queue.lane.image.timeout.minutes}") long imageTimeoutMinutes,
+            @Value("${discord.queue.lane.video.concurrency}") int videoConcurrency,
+            @Value("${discord.queue.lane.video.timeout.minutes}") long videoTimeoutMinutes,
+            @Value("${discord.queue.lane.music.concurrency}") int musicConcurrency,
+            @Value("${discord.queue.lane.music.timeout.minutes}") long musicTimeoutMinutes,
+            @Value("${discord.queue.routing.concurrency}") int routingConcurrency
+    ) {
+        this.routingConcurrency = Math.max(1, routingConcurrency);
+        lanes.put(Mode.TEXT, newLane(Mode.TEXT, textConcurrency, textTimeoutMinutes));
+        lanes.put(Mode.IMAGE, newLane(Mode.IMAGE, imageConcurrency, imageTimeoutMinutes));
+        lanes.put(Mode.VIDEO, newLane(Mode.VIDEO, videoConcurrency, videoTimeoutMinutes));
+        lanes.put(Mode.MUSIC, newLane(Mode.MUSIC, musicConcurrency, musicTimeoutMinutes));
+    }
+
+    private Lane newLane(Mode mode, int concurrency, long timeoutMinutes) {
+        return new Lane(mode, concurrency, Duration.ofMinutes(timeoutMinutes),
+                new FairQueueBuckets<>(guildWeights, userWeights));
+    }
 
     @PostConstruct
     public void start() {
+        guildWeights.putAll(parseWeights(guildWeightsProperty));
+        userWeights.putAll(parseWeights(userWeightsProperty));
         acceptingRequests.set(true);
 
-        this.worker = sink.asFlux()
-                .concatMap(this::processRequest)
-                .subscribe(
-                        unused -> {
-                        },
-                        error -> {
-                            acceptingRequests.set(false);
-                            log.error("Queue worker stopped unexpectedly", error);
-                            failAllPending(error);
-                        },
-                        () -> {
-                            acceptingRequests.set(false);
-                            log.warn("Queue worker completed");
-                            failAllPending(new CancellationException("Discord request queue stopped"));
-                        }
-                );
+        routingWorker = routingTasks.asFlux()
+                .flatMap(task -> task, routingConcurrency)
+                .subscribe();
+
+        for (Lane lane : lanes.values()) {
+            lane.worker = lane.dispatchSignals.asFlux()
+                    .flatMap(signal -> dispatchNext(lane), lane.concurrency)
+                    .subscribe(
+                            unused -> {
+                            },
+                            error -> {
+                                acceptingRequests.set(false);
+                                log.error("Queue lane {} stopped unexpectedly", lane.mode, error);
+                                failAllPending(error);
+                            },
+                            () -> {
+                                acceptingRequests.set(false);
+                                log.warn("Queue lane {} completed", lane.mode);
+                                failAllPending(new CancellationException("Discord request queue stopped"));
+                            }
+                    );
+
+            log.info("Discord request queue lane {} started (concurrency={}, timeout={}, fair={})",
+                    lane.mode, lane.concurrency, lane.timeout, fairQueueing);
+        }
+    }
 
-        log.info("Discord request queue started");
+    /**
+     * Takes a pending slot for the user and guild before any LLM work is spent on routing, or returns
+     * null if either is already at its cap. The slot is handed to
+     * {@link #enqueueWithPosition(String, Mode, Reservation, Supplier)}; if the request never gets
+     * there, {@link #cancel(Reservation)} gives it back.
+     */
+    public Reservation reserve(String userId, String guildId) {
+        if (!fairQueueing) {
+            return new Reservation("", "");
+        }
+
+        String userKey = userKey(userId);
+        String guildKey = guildKey(guildId);
+        return tryReserve(userKey, guildKey) ? new Reservation(userKey, guildKey) : null;
     }
 
+    /**
+     * Releases a reservation that was not consumed by an enqueue; a no-op otherwise, so it can be
+     * called unconditionally when the request finishes.
+     */
+    public void cancel(Reservation reservation) {
+        if (reservation != null && reservation.consume()) {
+            release(reservation.userKey(), reservation.guildKey(), false);
+        }
+    }
+
+    /**
+     * Runs route classification with at most {@code discord.queue.routing.concurrency} classifications
+     * at a time, so a burst of mentions cannot start unbounded LLM calls ahead of the lanes. Cancelling
+     * the returned Mono cancels the classification too, or skips it if it has not started, so an
+     * abandoned request does not keep holding a routing slot.
+     */
+    public <T> Mono<T> route(Mono<T> classification) {
+        return Mono.defer(() -> {
+            if (!acceptingRequests.get()) {
+                return Mono.error(new IllegalStateException("Discord request queue is not accepting requests"));
+            }
 
+            Sinks.One<T> result = Sinks.one();
+            Sinks.Empty<Void> callerCancelled = Sinks.empty();
+            Mono<Void> task = classification
+                    .takeUntilOther(callerCancelled.asMono())
+                    .doOnNext(result::tryEmitValue)
+                    .doOnSuccess(value -> {
+                        if (value == null) {
+                            result.tryEmitEmpty();
+                        }
+                    })
+                    .doOnError(result::tryEmitError)
+                    .doOnCancel(() -> result.tryEmitError(new CancellationException("Routing cancelled")))
+                    .then()
+                    .onErrorResume(error -> Mono.empty());
+
+            Sinks.EmitResult emitResult;
+            synchronized (routingLock) {
+                emitResult = routingTasks.tryEmitNext(task);
+            }
+
+            if (emitResult.isFailure()) {
+                return Mono.error(new IllegalStateException("Failed to schedule routing: " + emitResult));
+            }
+            return result.asMono().doOnCancel(callerCancelled::tryEmitEmpty);
+        });
+    }
+
+    /**
+     * Queues a request on the TEXT lane.
+     */
     public Mono<QueueAdmission> enqueueWithPosition(String requestId, Supplier<Mono<Void>> taskSupplier) {
+        return enqueueWithPosition(requestId, Mode.TEXT, null, null, taskSupplier);
+    }
+
+    /**
+     * Queues a request on the lane for the given mode. Positions reported through
+     * {@link QueueAdmission#positionUpdates()} are relative to that lane only. When fair queuing is
+     * enabled the lane serves guilds, and users within a guild, round robin by weight, and the
+     * request is rejected up front if the user or guild is already over its pending/in-flight cap.
+     */
+    public Mono<QueueAdmission> enqueueWithPosition(
+            String requestId,
+            Mode mode,
+            String userId,
+            String guildId,
+            Supplier<Mono<Void>> taskSupplier
+    ) {
+        Reservation reservation = reserve(userId, guildId);
+        if (reservation == null) {
+            return Mono.error(new IllegalStateException(
+                    "Too many queued requests for this user or server, please wait for earlier prompts to finish"
+            ));
+        }
+
+        return enqueueWithPosition(requestId, mode, reservation, taskSupplier)
+                .doOnError(error -> cancel(reservation));
+    }
+
+    /**
+     * Queues a request on a pending slot taken earlier with {@link #reserve(String, String)}.
+     */
+    public Mono<QueueAdmission> enqueueWithPosition(
+            String requestId,
+            Mode mode,
+            Reservation reservation,
+            Supplier<Mono<Void>> taskSupplier
+    ) {
         Objects.requireNonNull(requestId, "requestId must not be null");
+        Objects.requireNonNull(reservation, "reservation must not be null");
         Objects.requireNonNull(taskSupplier, "taskSupplier must not be null");
 
+        Lane lane = lanes.get(mode == null ? Mode.TEXT : mode);
+
         if (!acceptingRequests.get()) {
             return Mono.error(new IllegalStateException("Discord request queue is not accepting requests"));
         }
@@ -78,57 +245,78 @@ public class DiscordRequestQueueService {
             return Mono.just(existing.publicView());
         }
 
-        InternalAdmission admission = new InternalAdmission(requestId);
+        if (!reservation.consume()) {
+            return Mono.error(new IllegalStateException("Reservation for request [" + requestId + "] already used"));
+        }
+
+        String userKey = reservation.userKey();
+        String guildKey = reservation.guildKey();
 
-        synchronized (queueLock) {
-            InternalAdmission doubleCheck = inFlightRequests.get(requestId);
+        InternalAdmission admission = new InternalAdmission(requestId, lane, userKey, guildKey);
+
+        Sinks.EmitResult emitResult;
+        synchronized (lane.lock) {
+            InternalAdmission doubleCheck = inFlightRequests.putIfAbsent(requestId, admission);
             if (doubleCheck != null) {
+                release(userKey, guildKey, false);
                 log.info("Request already queued/running [{}] - joining existing execution", requestId);
                 return Mono.just(doubleCheck.publicView());
             }
 
-            inFlightRequests.put(requestId, admission);
-            pendingQueue.add(admission);
-            refreshQueuePositionsLocked();
-        }
-
-        QueuedRequest request = new QueuedRequest(requestId, taskSupplier, admission);
+            FairQueueBuckets.Slot slot = lane.buckets.add(guildKey, userKey, new QueuedRequest(requestId, taskSupplier, admission));
+            admission.slot(slot);
+            emitResult = lane.dispatchSignals.tryEmitNext(slot.ticket());
 
-        Sinks.EmitResult emitResult;
-        synchronized (emitLock) {
-            emitResult = sink.tryEmitNext(request);
+            if (emitResult.isFailure()) {
+                lane.buckets.removeLast(slot);
+                inFlightRequests.remove(requestId, admission);
+            }
         }
 
         if (emitResult.isFailure()) {
-            synchronized (queueLock) {
-                pendingQueue.remove(admission);
-                inFlightRequests.remove(requestId, admission);
-                refreshQueuePositionsLocked();
-            }
+            release(userKey, guildKey, false);
 
             IllegalStateException enqueueError =
                     new IllegalStateException("Failed to enqueue request [" + requestId + "]: " + emitResult);
 
-            admission.positionSink().tryEmitError(enqueueError);
             admission.startedSink().tryEmitError(enqueueError);
             admission.completionSink().tryEmitError(enqueueError);
 
             return Mono.error(enqueueError);
         }
 
-        log.info("Queued request [{}] at current position {}", requestId, admission.currentPosition());
+        log.info("Queued request [{}] on lane {} at current position {}", requestId, lane.mode, admission.currentPosition());
         return Mono.just(admission.publicView());
     }
 
-    private Mono<Void> processRequest(QueuedRequest request) {
+    /**
+     * Each enqueue emits one dispatch signal; whichever request the fair buckets pick next is run
+     * when the lane has a free slot, so the signal and the request it ends up serving need not match.
+     */
+    private Mono<Void> dispatchNext(Lane lane) {
         return Mono.defer(() -> {
-                    synchronized (queueLock) {
-                        pendingQueue.remove(request.admission());
-                        refreshQueuePositionsLocked();
-                    }
+            QueuedRequest request;
+            synchronized (lane.lock) {
+                request = lane.buckets.poll();
+                if (request != null) {
+                    lane.progress.tryEmitNext(lane.dispatched.incrementAndGet());
+                }
+            }
+
+            if (request == null) {
+                return Mono.empty();
+            }
 
-                    request.admission().startedSink().tryEmitEmpty();
-                    request.admission().positionSink().tryEmitComplete();
+            return processRequest(lane, request);
+        });
+    }
+
+    private Mono<Void> processRequest(Lane lane, QueuedRequest request) {
+        InternalAdmission admission = request.admission();
+
+        return Mono.defer(() -> {
+                    markRunning(admission.userKey(), admission.guildKey());
+                    admission.startedSink().tryEmitEmpty();
 
                     Mono<Void> task = request.taskSupplier().get();
 
@@ -140,9 +328,9 @@ public class DiscordRequestQueueService {
 
                     return task;
                 })
-                .timeout(REQUEST_TIMEOUT)
+                .timeout(lane.timeout)
                 .doOnSubscribe(sub ->
-                        log.info("Processing queued request [{}]", request.requestId())
+                        log.info("Processing queued request [{}] on lane {}", request.requestId(), lane.mode)
                 )
                 .doOnSuccess(unused -> {
                     log.info("Queued request completed [{}]", request.requestId());
@@ -157,6 +345,7 @@ public class DiscordRequestQueueService {
                     request.admission().completionSink().tryEmitError(error);
                 })
                 .doFinally(signalType -> {
+                    release(admission.userKey(), admission.guildKey(), true);
                     inFlightRequests.remove(request.requestId(), request.admission());
                 })
                 .onErrorResume(error -> Mono.empty());
@@ -166,39 +355,166 @@ public class DiscordRequestQueueService {
     public void stop() {
         acceptingRequests.set(false);
 
-        if (worker != null) {
-            worker.dispose();
+        if (routingWorker != null) {
+            routingWorker.dispose();
+        }
+
+        for (Lane lane : lanes.values()) {
+            if (lane.worker != null) {
+                lane.worker.dispose();
+            }
+
+            synchronized (lane.lock) {
+                lane.dispatchSignals.tryEmitComplete();
+            }
         }
 
-        sink.tryEmitComplete();
         failAllPending(new CancellationException("Discord request queue stopped"));
 
         log.info("Discord request queue stopped");
     }
 
-    private void refreshQueuePositionsLocked() {
-        for (int i = 0; i < pendingQueue.size(); i++) {
-            InternalAdmission admission = pendingQueue.get(i);
-            int newPosition = i + 1;
+    private void failAllPending(Throwable error) {
+        for (Lane lane : lanes.values()) {
+            synchronized (lane.lock) {
+                lane.buckets.clear();
+            }
+        }
+
+        synchronized (usageLock) {
+            keyUsage.clear();
+        }
+
+        for (InternalAdmission admission : inFlightRequests.values()) {
+            log.warn("Failing pending request [{}] because queue is stopping/stopped", admission.requestId());
+            admission.startedSink().tryEmitError(error);
+            admission.completionSink().tryEmitError(error);
+        }
+
+        inFlightRequests.clear();
+    }
+
+    private boolean tryReserve(String userKey, String guildKey) {
+        synchronized (usageLock) {
+            if (!withinCaps(userKey, guildKey)) {
+                return false;
+            }
+
+            keyUsage.computeIfAbsent(userKey, key -> new KeyUsage()).pending++;
+            keyUsage.computeIfAbsent(guildKey, key -> new KeyUsage()).pending++;
+            return true;
+        }
+    }
+
+    private boolean withinCaps(String userKey, String guildKey) {
+        KeyUsage user = keyUsage.getOrDefault(userKey, KeyUsage.EMPTY);
+        KeyUsage guild = keyUsage.getOrDefault(guildKey, KeyUsage.EMPTY);
 
-            if (admission.currentPosition() != newPosition) {
-                admission.currentPosition(newPosition);
-                admission.positionSink().tryEmitNext(newPosition);
+        return user.pending < userMaxPending
+                && user.inFlight() < userMaxInFlight
+                && guild.pending < guildMaxPending
+                && guild.inFlight() < guildMaxInFlight;
+    }
+
+    private void markRunning(String userKey, String guildKey) {
+        if (!fairQueueing) {
+            return;
+        }
+
+        synchronized (usageLock) {
+            for (String key : List.of(userKey, guildKey)) {
+                KeyUsage usage = keyUsage.get(key);
+                if (usage != null) {
+                    usage.pending = Math.max(0, usage.pending - 1);
+                    usage.running++;
+                }
             }
         }
     }
 
-    private void failAllPending(Throwable error) {
-        synchronized (queueLock) {
-            for (InternalAdmission admission : inFlightRequests.values()) {
-                log.warn("Failing pending request [{}] because queue is stopping/stopped", admission.requestId());
-                admission.positionSink().tryEmitError(error);
-                admission.startedSink().tryEmitError(error);
-                admission.completionSink().tryEmitError(error);
+    private void release(String userKey, String guildKey, boolean wasRunning) {
+        if (!fairQueueing) {
+            return;
+        }
+
+        synchronized (usageLock) {
+            for (String key : List.of(userKey, guildKey)) {
+                KeyUsage usage = keyUsage.get(key);
+                if (usage == null) {
+                    continue;
+                }
+
+                if (wasRunning) {
+                    usage.running = Math.max(0, usage.running - 1);
+                } else {
+                    usage.pending = Math.max(0, usage.pending - 1);
+                }
+
+                if (usage.inFlight() == 0) {
+                    keyUsage.remove(key);
+                }
+            }
+        }
+    }
+
+    private static String userKey(String userId) {
+        return "user:" + (userId == null ? "" : userId);
+    }
+
+    private static String guildKey(String guildId) {
+        return "guild:" + (guildId == null ? "" : guildId);
+    }
+
+    /**
+     * Parses "id:weight,id:weight" into a map, skipping malformed entries.
+     */
+    private static Map<String, Integer> parseWeights(String raw) {
+        Map<String, Integer> weights = new HashMap<>();
+        if (raw == null || raw.isBlank()) {
+            return weights;
+        }
+
+        for (String entry : raw.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                log.warn("Ignoring malformed queue weight entry '{}'", entry);
+                continue;
             }
 
-            pendingQueue.clear();
-            inFlightRequests.clear();
+            try {
+                weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed queue weight entry '{}'", entry);
+            }
+        }
+
+        return weights;
+    }
+
+    /**
+     * A pending slot for one user and guild, taken before routing; consumed at most once, either by an
+     * enqueue or by {@link #cancel(Reservation)}.
+     */
+    public static final class Reservation {
+        private final String userKey;
+        private final String guildKey;
+        private final AtomicBoolean consumed = new AtomicBoolean();
+
+        private Reservation(String userKey, String guildKey) {
+            this.userKey = userKey;
+            this.guildKey = guildKey;
+        }
+
+        private String userKey() {
+            return userKey;
+        }
+
+        private String guildKey() {
+            return guildKey;
+        }
+
+        private boolean consume() {
+            return consumed.compareAndSet(false, true);
         }
     }
 
@@ -210,37 +526,88 @@ public class DiscordRequestQueueService {
             Mono<Void> completion
     ) {}
 
+    private static final class Lane {
+        private final Mode mode;
+        private final int concurrency;
+        private final Duration timeout;
+        private final FairQueueBuckets<QueuedRequest> buckets;
+        private final Sinks.Many<Long> dispatchSignals = Sinks.many().unicast().onBackpressureBuffer();
+        private final Sinks.Many<Long> progress = Sinks.many().replay().latest();
+        private final AtomicLong dispatched = new AtomicLong();
+        private final Object lock = new Object();
+        private Disposable worker;
+
+        private Lane(Mode mode, int concurrency, Duration timeout, FairQueueBuckets<QueuedRequest> buckets) {
+            this.mode = mode;
+            this.concurrency = Math.max(1, concurrency);
+            this.timeout = timeout;
+            this.buckets = buckets;
+            this.progress.tryEmitNext(0L);
+        }
+    }
+
+    private static final class KeyUsage {
+        private static final KeyUsage EMPTY = new KeyUsage();
+
+        private int pending;
+        private int running;
+
+        private int inFlight() {
+            return pending + running;
+        }
+    }
+
+    /**
+     * Positions are computed on demand from the lane's fair buckets; waiters re-evaluate theirs
+     * whenever the lane dispatches something, sampled so bursts collapse into one update.
+     */
     private static final class InternalAdmission {
         private final String requestId;
-        private final Sinks.Many<Integer> positionSink;
+        private final Lane lane;
+        private final String userKey;
+        private final String guildKey;
         private final Sinks.One<Void> startedSink;
         private final Sinks.One<Void> completionSink;
-        private volatile int currentPosition;
+        private volatile FairQueueBuckets.Slot slot;
 
-        private InternalAdmission(String requestId) {
+        private InternalAdmission(String requestId, Lane lane, String userKey, String guildKey) {
             this.requestId = requestId;
-            this.positionSink = Sinks.many().replay().latest();
+            this.lane = lane;
+            this.userKey = userKey;
+            this.guildKey = guildKey;
             this.startedSink = Sinks.one();
             this.completionSink = Sinks.one();
-            this.currentPosition = 0;
         }
 
         private QueueAdmission publicView() {
             return new QueueAdmission(
                     requestId,
-                    currentPosition,
-                    positionSink.asFlux().distinctUntilChanged(),
+                    currentPosition(),
+                    positionUpdates(),
                     startedSink.asMono(),
                     completionSink.asMono()
             );
         }
 
+        private Flux<Integer> positionUpdates() {
+            return lane.progress.asFlux()
+                    .sample(POSITION_UPDATE_INTERVAL)
+                    .map(dispatched -> currentPosition())
+                    .takeWhile(position -> position > 0)
+                    .distinctUntilChanged()
+                    .takeUntilOther(startedSink.asMono());
+        }
+
         private String requestId() {
             return requestId;
         }
 
-        private Sinks.Many<Integer> positionSink() {
-            return positionSink;
+        private String userKey() {
+            return userKey;
+        }
+
+        private String guildKey() {
+            return guildKey;
         }
 
         private Sinks.One<Void> startedSink() {
@@ -252,11 +619,12 @@ public class DiscordRequestQueueService {
         }
 
         private int currentPosition() {
-            return currentPosition;
+            FairQueueBuckets.Slot current = slot;
+            return current == null ? 0 : lane.buckets.positionOf(current);
         }
 
-        private void currentPosition(int currentPosition) {
-            this.currentPosition = currentPosition;
+        private void slot(FairQueueBuckets.Slot slot) {
+            this.slot = slot;
         }
     }
 
@@ -0,0 +1,183 @@
+package com.discord.LocalAIDiscordAgent.discord.service;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-level deficit round robin over pending requests: guilds take turns, and inside a guild
+ * its users take turns. Every request costs one unit, so a key with weight N is served N times
+ * per round before the next key gets its turn. With a single guild and user key this is plain FIFO.
+ * <p>
+ * Not thread-safe for mutation; callers hold the owning lane's lock. Size and position reads are
+ * lock-free and may be slightly stale.
+ */
+final class FairQueueBuckets<T> {
+
+    private final Map<String, Integer> guildWeights;
+    private final Map<String, Integer> userWeights;
+
+    private final Map<String, GuildBucket<T>> guilds = new HashMap<>();
+    private final ArrayDeque<GuildBucket<T>> guildRing = new ArrayDeque<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger activeUsers = new AtomicInteger();
+
+    FairQueueBuckets(Map<String, Integer> guildWeights, Map<String, Integer> userWeights) {
+        this.guildWeights = guildWeights;
+        this.userWeights = userWeights;
+    }
+
+    Slot add(String guildId, String userId, T item) {
+        GuildBucket<T> guild = guilds.get(guildId);
+        if (guild == null) {
+            guild = new GuildBucket<>(guildId, weightOf(guildWeights, guildId));
+            guilds.put(guildId, guild);
+            guildRing.addLast(guild);
+        }
+
+        UserBucket<T> user = guild.users.get(userId);
+        if (user == null) {
+            user = new UserBucket<>(userId, weightOf(userWeights, userId));
+            guild.users.put(userId, user);
+            guild.userRing.addLast(user);
+            activeUsers.incrementAndGet();
+        }
+
+        user.items.addLast(item);
+        size.incrementAndGet();
+
+        return new Slot(guildId, user, ++user.issued);
+    }
+
+    /**
+     * Undoes the most recent {@link #add} for the slot's user, used when the request could not be handed
+     * to the lane after all.
+     */
+    void removeLast(Slot slot) {
+        GuildBucket<T> guild = guilds.get(slot.guildId());
+        if (guild == null || guild.users.get(slot.user().userId) != slot.user()) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        UserBucket<T> user = (UserBucket<T>) slot.user();
+
+        if (user.items.pollLast() == null) {
+            return;
+        }
+
+        user.issued--;
+        size.decrementAndGet();
+
+        if (user.items.isEmpty()) {
+            guild.users.remove(user.userId);
+            guild.userRing.remove(user);
+            activeUsers.decrementAndGet();
+        }
+
+        if (guild.userRing.isEmpty()) {
+            guilds.remove(guild.guildId);
+            guildRing.remove(guild);
+        }
+    }
+
+    T poll() {
+        GuildBucket<T> guild = guildRing.peekFirst();
+        if (guild == null) {
+            return null;
+        }
+
+        if (guild.deficit < 1) {
+            guild.deficit += guild.weight;
+        }
+
+        UserBucket<T> user = guild.userRing.peekFirst();
+        if (user.deficit < 1) {
+            user.deficit += user.weight;
+        }
+
+        T item = user.items.pollFirst();
+        user.started.incrementAndGet();
+        user.deficit--;
+        guild.deficit--;
+        size.decrementAndGet();
+
+        if (user.items.isEmpty()) {
+            guild.userRing.pollFirst();
+            guild.users.remove(user.userId);
+            activeUsers.decrementAndGet();
+        } else if (user.deficit < 1) {
+            guild.userRing.addLast(guild.userRing.pollFirst());
+        }
+
+        if (guild.userRing.isEmpty()) {
+            guildRing.pollFirst();
+            guilds.remove(guild.guildId);
+        } else if (guild.deficit < 1) {
+            guildRing.addLast(guildRing.pollFirst());
+        }
+
+        return item;
+    }
+
+    void clear() {
+        guilds.clear();
+        guildRing.clear();
+        size.set(0);
+        activeUsers.set(0);
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Estimated 1-based position of a slot. Exact for a single user; otherwise every other active user
+     * is assumed to get one turn before each of this user's remaining requests.
+     */
+    int positionOf(Slot slot) {
+        long ahead = slot.ticket() - slot.user().started.get();
+        if (ahead <= 0) {
+            return 0;
+        }
+
+        long estimate = ahead * Math.max(1, activeUsers.get());
+        return (int) Math.max(1, Math.min(estimate, size.get()));
+    }
+
+    private static int weightOf(Map<String, Integer> weights, String key) {
+        return Math.max(1, weights.getOrDefault(key, 1));
+    }
+
+    record Slot(String guildId, UserBucket<?> user, long ticket) {}
+
+    private static final class GuildBucket<T> {
+        private final String guildId;
+        private final int weight;
+        private final Map<String, UserBucket<T>> users = new HashMap<>();
+        private final ArrayDeque<UserBucket<T>> userRing = new ArrayDeque<>();
+        private int deficit;
+
+        private GuildBucket(String guildId, int weight) {
+            this.guildId = guildId;
+            this.weight = weight;
+        }
+    }
+
+    static final class UserBucket<T> {
+        private final String userId;
+        private final int weight;
+        private final ArrayDeque<T> items = new ArrayDeque<>();
+        private final AtomicLong started = new AtomicLong();
+        private long issued;
+        private int deficit;
+
+        private UserBucket(String userId, int weight) {
+            this.userId = userId;
+            this.weight = weight;
+        }
+    }
+}
@@ -5,14 +5,15 @@ import com.discord.LocalAIDiscordAgent.discord.data.DiscGlobalDataContextHolder;
 import com.discord.LocalAIDiscordAgent.discord.data.DiscGlobalDataService;
 import com.discord.LocalAIDiscordAgent.discord.listener.EventListenerINTF;
 import com.discord.LocalAIDiscordAgent.discord.listener.MessageListener;
+import com.discord.LocalAIDiscordAgent.discord.service.DiscordRequestQueueService.Reservation;
 import com.discord.LocalAIDiscordAgent.llm.llmChat.service.LLMChatService;
 import com.discord.LocalAIDiscordAgent.llm.llmChains.llmCallChains.LLMCallChain;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
 import com.discord.LocalAIDiscordAgent.user.service.UserService;
 import discord4j.common.util.Snowflake;
 import discord4j.core.event.domain.message.MessageCreateEvent;
 import discord4j.core.object.entity.Message;
 import discord4j.core.object.entity.User;
-import discord4j.core.spec.MessageEditSpec;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
@@ -26,19 +27,25 @@ public class MessageCreateListenerINTF extends MessageListener implements EventL
     private final DiscGlobalDataService discGlobalDataService;
     private final DiscordRequestQueueService discordRequestQueueService;
     private final LLMCallChain llmCallChain;
+    private final StatusMessageEditService statusMessageEditService;
+    private final BlockingSchedulers schedulers;
 
     public MessageCreateListenerINTF(
             UserService userService,
             LLMChatService LLMChatService,
             DiscGlobalDataService discGlobalDataService,
             DiscordRequestQueueService discordRequestQueueService,
-            LLMCallChain llmCallChain
+            LLMCallChain llmCallChain,
+            StatusMessageEditService statusMessageEditService,
+            BlockingSchedulers schedulers
     ) {
         this.userService = userService;
         this.LLMChatService = LLMChatService;
         this.discGlobalDataService = discGlobalDataService;
         this.discordRequestQueueService = discordRequestQueueService;
         this.llmCallChain = llmCallChain;
+        this.statusMessageEditService = statusMessageEditService;
+        this.schedulers = schedulers;
     }
 
     @Override
@@ -87,70 +94,74 @@ public class MessageCreateListenerINTF extends MessageListener implements EventL
         String requestId = message.getId().asString();
         String nickname = safeNickname(discGlobalData.getServerNickname());
 
+        // the pending slot is taken before routing, so routing cannot outrun the per-user and per-guild caps
+        Reservation reservation = discordRequestQueueService.reserve(discGlobalData.getUserId(), discGlobalData.getGuildId());
+        if (reservation == null) {
+            return message.getChannel()
+                    .flatMap(channel -> channel.createMessage(buildRejectedPrompt(nickname)))
+                    .then();
+        }
+
         return message.getChannel()
                 .flatMap(channel ->
                         channel.createMessage(buildQueuedPrompt(nickname, 1))
-                                .flatMap(statusMessage ->
-                                        discordRequestQueueService.enqueueWithPosition(
+                                .flatMap(statusMessage -> discordRequestQueueService.route(
+                                                Mono.fromCallable(() -> llmCallChain.decideRoute(discGlobalData))
+                                                        .subscribeOn(schedulers.llm())
+                                        )
+                                        .flatMap(decision -> discordRequestQueueService.enqueueWithPosition(
                                                         requestId,
+                                                        decision.mode(),
+                                                        reservation,
                                                         () -> processCommandAI(
                                                                 message,
                                                                 statusMessage,
+                                                                decision,
                                                                 userService,
                                                                 LLMChatService,
-                                                                llmCallChain
+                                                                llmCallChain,
+                                                                statusMessageEditService
                                                         ).contextWrite(ctx -> DiscGlobalDataContextHolder.put(ctx, discGlobalData))
                                                 )
                                                 .flatMap(admission -> {
-                                                    Mono<Void> initialQueuedUpdate = statusMessage.edit(
-                                                            MessageEditSpec.builder()
-                                                                    .contentOrNull(buildQueuedPrompt(nickname, admission.initialPosition()))
-                                                                    .build()
-                                                    ).then();
+                                                    Mono<Void> initialQueuedUpdate = statusMessageEditService.edit(
+                                                            statusMessage,
+                                                            buildQueuedPrompt(nickname, admission.initialPosition())
+                                                    ).onErrorResume(error -> Mono.empty());
 
                                                     Mono<Void> queuePositionUpdates = admission.positionUpdates()
                                                             .concatMap(position ->
-                                                                    statusMessage.edit(
-                                                                                    MessageEditSpec.builder()
-                                                                                            .contentOrNull(buildQueuedPrompt(nickname, position))
-                                                                                            .build()
-                                                                            )
-                                                                            .then()
+                                                                    statusMessageEditService.edit(statusMessage, buildQueuedPrompt(nickname, position))
                                                                             .onErrorResume(error -> Mono.empty())
                                                             )
                                                             .takeUntilOther(admission.started())
                                                             .then();
 
                                                     Mono<Void> startedUpdate = admission.started()
-                                                            .then(statusMessage.edit(
-                                                                    MessageEditSpec.builder()
-                                                                            .contentOrNull(buildStartedPrompt(nickname))
-                                                                            .build()
-                                                            ))
-                                                            .then()
+                                                            .then(statusMessageEditService.edit(statusMessage, buildStartedPrompt(nickname)))
                                                             .onErrorResume(error -> Mono.empty());
 
                                                     Mono<Void> completionFailureOnly = admission.completion()
                                                             .then()
                                                             .onErrorResume(error ->
-                                                                    statusMessage.edit(
-                                                                                    MessageEditSpec.builder()
-                                                                                            .contentOrNull(buildFailedPrompt(nickname, error))
-                                                                                            .build()
-                                                                            )
-                                                                            .then()
+                                                                    statusMessageEditService.edit(statusMessage, buildFailedPrompt(nickname, error))
                                                             );
 
-                                                    return initialQueuedUpdate.then(
-                                                            Mono.whenDelayError(
-                                                                    queuePositionUpdates,
-                                                                    startedUpdate,
-                                                                    completionFailureOnly
-                                                            )
+                                                    return Mono.whenDelayError(
+                                                            initialQueuedUpdate,
+                                                            queuePositionUpdates,
+                                                            startedUpdate,
+                                                            completionFailureOnly
                                                     );
-                                                })
-                                )
-                );
+                                                }))
+                                        // routing or enqueue failed: nothing else will report on the status message
+                                        .onErrorResume(error -> {
+                                            discordRequestQueueService.cancel(reservation);
+                                            return statusMessageEditService.edit(statusMessage, buildFailedPrompt(nickname, error))
+                                                    .onErrorResume(editError -> Mono.empty());
+                                        }))
+                )
+                .doFinally(signal -> discordRequestQueueService.cancel(reservation));
     }
 
     @Override
@@ -162,6 +173,10 @@ public class MessageCreateListenerINTF extends MessageListener implements EventL
         return nickname + ", your prompt is queued. Current queue position: " + position;
     }
 
+    private String buildRejectedPrompt(String nickname) {
+        return nickname + ", you already have too many prompts waiting. Please wait for them to finish.";
+    }
+
     private String buildStartedPrompt(String nickname) {
         return nickname + ", your prompt is being processed. Please wait a moment.";
     }
@@ -0,0 +1,180 @@
+package com.discord.LocalAIDiscordAgent.discord.service;
+
+import discord4j.common.util.Snowflake;
+import discord4j.core.object.entity.Message;
+import discord4j.core.spec.MessageEditSpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Central pipeline for status-message edits. Only the latest requested content per message is kept,
+ * and each channel flushes at most one edit per interval, so bursts of queue/timer updates collapse
+ * into a bounded number of REST calls instead of tripping Discord's per-channel rate limits.
+ */
+@Slf4j
+@Service
+public class StatusMessageEditService {
+
+    private final ConcurrentMap<Snowflake, ChannelEdits> channels = new ConcurrentHashMap<>();
+    private final Duration minInterval;
+
+    public StatusMessageEditService(
+            @Value("${discord.status.edit.min.interval.millis}") long minIntervalMillis
+    ) {
+        this.minInterval = Duration.ofMillis(Math.max(0, minIntervalMillis));
+    }
+
+    /**
+     * Requests that the message show the given content. Completes once this content, or content that
+     * superseded it, has been written; errors if that edit failed.
+     */
+    public Mono<Void> edit(Message message, String content) {
+        return Mono.defer(() -> {
+            Sinks.One<Void> waiter = Sinks.one();
+            submit(message, content, waiter);
+            return waiter.asMono();
+        });
+    }
+
+    /**
+     * Drops any pending edit for the message. Used before a direct edit (e.g. with an attachment) so a
+     * stale status update cannot land on top of it.
+     */
+    public void discard(Message message) {
+        ChannelEdits channel = channels.get(message.getChannelId());
+        if (channel == null) {
+            return;
+        }
+
+        PendingEdit dropped;
+        synchronized (channel) {
+            dropped = channel.pending.remove(message.getId());
+        }
+
+        if (dropped != null) {
+            dropped.complete();
+        }
+    }
+
+    private void submit(Message message, String content, Sinks.One<Void> waiter) {
+        while (true) {
+            ChannelEdits channel = channels.computeIfAbsent(message.getChannelId(), ChannelEdits::new);
+            boolean startDrain;
+
+            synchronized (channel) {
+                if (channel.closed) {
+                    continue;
+                }
+
+                PendingEdit pending = channel.pending.get(message.getId());
+                if (pending == null) {
+                    pending = new PendingEdit(message);
+                    channel.pending.put(message.getId(), pending);
+                }
+
+                pending.content = content;
+                pending.waiters.add(waiter);
+
+                startDrain = !channel.draining;
+                channel.draining = true;
+            }
+
+            if (startDrain) {
+                scheduleNext(channel);
+            }
+            return;
+        }
+    }
+
+    private void scheduleNext(ChannelEdits channel) {
+        long elapsedNanos = System.nanoTime() - channel.lastFlushNanos;
+        Duration wait = minInterval.minusNanos(elapsedNanos);
+        if (wait.isNegative()) {
+            wait = Duration.ZERO;
+        }
+
+        Mono.delay(wait)
+                .then(Mono.defer(() -> flushOne(channel)))
+                .subscribe(
+                        unused -> {
+                        },
+                        error -> log.error("Status edit drain failed for channel {}", channel.channelId.asString(), error)
+                );
+    }
+
+    private Mono<Void> flushOne(ChannelEdits channel) {
+        PendingEdit next;
+
+        synchronized (channel) {
+            Iterator<PendingEdit> iterator = channel.pending.values().iterator();
+            if (!iterator.hasNext()) {
+                channel.draining = false;
+                channel.closed = true;
+                channels.remove(channel.channelId, channel);
+                return Mono.empty();
+            }
+
+            next = iterator.next();
+            iterator.remove();
+        }
+
+        return next.message.edit(
+                        MessageEditSpec.builder()
+                                .contentOrNull(next.content)
+                                .build()
+                )
+                .then()
+                .doOnSuccess(unused -> next.complete())
+                .doOnError(error -> {
+                    log.warn("Status edit failed for message {}: {}", next.message.getId().asString(), error.getMessage());
+                    next.fail(error);
+                })
+                .onErrorResume(error -> Mono.empty())
+                .doFinally(signal -> {
+                    channel.lastFlushNanos = System.nanoTime();
+                    scheduleNext(channel);
+                });
+    }
+
+    private static final class ChannelEdits {
+        private final Snowflake channelId;
+        private final Map<Snowflake, PendingEdit> pending = new LinkedHashMap<>();
+        private volatile long lastFlushNanos = System.nanoTime() - Duration.ofHours(1).toNanos();
+        private boolean draining;
+        private boolean closed;
+
+        private ChannelEdits(Snowflake channelId) {
+            this.channelId = channelId;
+        }
+    }
+
+    private static final class PendingEdit {
+        private final Message message;
+        private final List<Sinks.One<Void>> waiters = new ArrayList<>();
+        private String content;
+
+        private PendingEdit(Message message) {
+            this.message = message;
+        }
+
+        private void complete() {
+            waiters.forEach(Sinks.One::tryEmitEmpty);
+        }
+
+        private void fail(Throwable error) {
+            waiters.forEach(waiter -> waiter.tryEmitError(error));
+        }
+    }
+}
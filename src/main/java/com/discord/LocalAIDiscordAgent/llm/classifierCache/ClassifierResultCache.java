@@ -0,0 +1,163 @@
+package com.discord.LocalAIDiscordAgent.llm.classifierCache;
+
+import com.discord.LocalAIDiscordAgent.metrics.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicting cache for the temperature-0 classifier calls (route, web-search necessity,
+ * RAG query / relevance, chat-memory relevance). Entries are keyed by classifier name plus hashes of the
+ * normalized user message and of the context the classifier saw, so a changed memory snapshot or
+ * retrieved context is a miss. Null results are never cached.
+ */
+@Slf4j
+@Component
+public class ClassifierResultCache implements MetricsSource {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public ClassifierResultCache(
+            @Value("${llm.classifier.cache.enabled}") boolean enabled,
+            @Value("${llm.classifier.cache.max.entries}") int maxEntries,
+            @Value("${llm.classifier.cache.ttl.minutes}") long ttlMinutes
+    ) {
+        this.enabled = enabled;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = Duration.ofMinutes(Math.max(0, ttlMinutes)).toNanos();
+    }
+
+    public <T> T getOrCompute(String classifier, String userMessage, Supplier<T> compute) {
+        return getOrCompute(classifier, userMessage, null, compute);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getOrCompute(String classifier, String userMessage, String context, Supplier<T> compute) {
+        if (!enabled) {
+            return compute.get();
+        }
+
+        String key = classifier + ":" + hash(normalize(userMessage)) + ":" + hash(context == null ? "" : context);
+        Counters stats = counters.computeIfAbsent(classifier, unused -> new Counters());
+        long now = System.nanoTime();
+
+        synchronized (entries) {
+            Entry cached = entries.get(key);
+            if (cached != null && now - cached.storedAt < ttlNanos) {
+                stats.hits.incrementAndGet();
+                log.debug("Classifier cache hit for {}", classifier);
+                return (T) cached.value;
+            }
+            if (cached != null) {
+                entries.remove(key);
+            }
+        }
+
+        stats.misses.incrementAndGet();
+        T value = compute.get();
+
+        if (value != null && ttlNanos > 0) {
+            synchronized (entries) {
+                entries.put(key, new Entry(value, System.nanoTime()));
+                evictOverflow();
+            }
+        }
+
+        return value;
+    }
+
+    @Override
+    public String metricsName() {
+        return "classifier-cache";
+    }
+
+    @Override
+    public Map<String, CacheStats> metrics() {
+        Map<String, CacheStats> snapshot = new TreeMap<>();
+        counters.forEach((classifier, stats) ->
+                snapshot.put(classifier, new CacheStats(stats.hits.get(), stats.misses.get()))
+        );
+        return snapshot;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evictOverflow() {
+        var iterator = entries.entrySet().iterator();
+        long now = System.nanoTime();
+
+        while (iterator.hasNext() && entries.size() > maxEntries) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        // drop expired entries from the cold end while we hold the lock anyway
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getValue().storedAt < ttlNanos) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Case, whitespace and trailing punctuation do not change what a temperature-0 classifier decides
+     * for practical purposes, so "What's the weather?" and "what's the  weather" share an entry.
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        return value.toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .replaceAll("[\\s.!?,;:]+$", "")
+                .trim();
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(Object value, long storedAt) {}
+
+    private static final class Counters {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+    }
+
+    public record CacheStats(long hits, long misses) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
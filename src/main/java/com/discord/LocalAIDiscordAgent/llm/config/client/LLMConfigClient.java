@@ -3,7 +3,7 @@ package com.discord.LocalAIDiscordAgent.llm.config.client;
 import com.discord.LocalAIDiscordAgent.llm.systemMessage.SystemMessageFactory;
 import org.springframework.ai.chat.client.AdvisorParams;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.ollama.OllamaChatModel;
+import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,7 +12,7 @@ public class LLMConfigClient {
 
     @Bean
     public ChatClient llmTextClient(
-            OllamaChatModel llmTextModel,
+            ChatModel llmTextModel,
             SystemMessageFactory systemMessageFactory
     ) {
         return ChatClient.builder(llmTextModel)
@@ -21,14 +21,14 @@ public class LLMConfigClient {
     }
 
     @Bean
-    public ChatClient llmStructuredClient(OllamaChatModel llmStructuredModel) {
+    public ChatClient llmStructuredClient(ChatModel llmStructuredModel) {
         return ChatClient.builder(llmStructuredModel)
                 .defaultAdvisors(AdvisorParams.ENABLE_NATIVE_STRUCTURED_OUTPUT)
                 .build();
     }
 
     @Bean
-    public ChatClient llmToolClient(OllamaChatModel llmToolModel) {
+    public ChatClient llmToolClient(ChatModel llmToolModel) {
         return ChatClient.builder(llmToolModel)
                 .build();
     }
@@ -1,5 +1,8 @@
 package com.discord.LocalAIDiscordAgent.llm.config.model;
 
+import com.discord.LocalAIDiscordAgent.llm.modelResidency.ModelResidencyManager;
+import com.discord.LocalAIDiscordAgent.llm.modelResidency.ResidentChatModel;
+import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.ollama.OllamaChatModel;
 import org.springframework.ai.ollama.api.OllamaApi;
 import org.springframework.ai.ollama.api.OllamaChatOptions;
@@ -9,14 +12,19 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class LLMConfigModel {
 
+    public static final String TEXT_MODEL = "lfm2";
+    public static final String STRUCTURED_MODEL = "qwen3.5:9b";
+    public static final String TOOL_MODEL = "qwen3.5:27b";
+    public static final String PAYLOAD_MODEL = "ministral-3:14b";
+
     @Bean
-    public OllamaChatModel llmTextModel(OllamaApi ollamaBasicApiConfig) {
-        return OllamaChatModel.builder()
+    public ChatModel llmTextModel(OllamaApi ollamaBasicApiConfig, ModelResidencyManager residencyManager) {
+        OllamaChatModel model = OllamaChatModel.builder()
                 .ollamaApi(ollamaBasicApiConfig)
                 .defaultOptions(
                         OllamaChatOptions.builder()
-                                .model("lfm2")
-                                .keepAlive("0s")
+                                .model(TEXT_MODEL)
+                                .keepAlive(residencyManager.keepAlive())
                                 .disableThinking()
                                 .temperature(0.5)
                                 .topP(0.92)
@@ -26,17 +34,19 @@ public class LLMConfigModel {
                                 .build()
                 )
                 .build();
+
+        return new ResidentChatModel(TEXT_MODEL, model, residencyManager);
     }
 
 
     @Bean
-    public OllamaChatModel llmStructuredModel(OllamaApi ollamaBasicApiConfig) {
-        return OllamaChatModel.builder()
+    public ChatModel llmStructuredModel(OllamaApi ollamaBasicApiConfig, ModelResidencyManager residencyManager) {
+        OllamaChatModel model = OllamaChatModel.builder()
                 .ollamaApi(ollamaBasicApiConfig)
                 .defaultOptions(
                         OllamaChatOptions.builder()
-                                .model("qwen3.5:9b")
-                                .keepAlive("0s")
+                                .model(STRUCTURED_MODEL)
+                                .keepAlive(residencyManager.keepAlive())
                                 .disableThinking()
                                 .temperature(0.7)
                                 .numCtx(8192)
@@ -44,42 +54,48 @@ public class LLMConfigModel {
                                 .build()
                 )
                 .build();
+
+        return new ResidentChatModel(STRUCTURED_MODEL, model, residencyManager);
     }
 
 
     @Bean
-    public OllamaChatModel llmToolModel(OllamaApi ollamaBasicApiConfig) {
-        return OllamaChatModel.builder()
+    public ChatModel llmToolModel(OllamaApi ollamaBasicApiConfig, ModelResidencyManager residencyManager) {
+        OllamaChatModel model = OllamaChatModel.builder()
                 .ollamaApi(ollamaBasicApiConfig)
                 .defaultOptions(
                         OllamaChatOptions.builder()
-                                .model("qwen3.5:27b")
+                                .model(TOOL_MODEL)
                                 .enableThinking()
                                 .temperature(0.5)
                                 .topP(0.92)
-                                .keepAlive("0s")
+                                .keepAlive(residencyManager.keepAlive())
                                 .repeatPenalty(1.15)
                                 .numCtx(32768)
                                 .numPredict(4096)
                                 .build()
                 )
                 .build();
+
+        return new ResidentChatModel(TOOL_MODEL, model, residencyManager);
     }
 
     @Bean
-    public OllamaChatModel llmPayloadModel(OllamaApi ollamaBasicApiConfig) {
-        return OllamaChatModel.builder()
+    public ChatModel llmPayloadModel(OllamaApi ollamaBasicApiConfig, ModelResidencyManager residencyManager) {
+        OllamaChatModel model = OllamaChatModel.builder()
                 .ollamaApi(ollamaBasicApiConfig)
                 .defaultOptions(
                         OllamaChatOptions.builder()
-                                .model("ministral-3:14b")
+                                .model(PAYLOAD_MODEL)
                                 .numCtx(4096)
                                 .numPredict(1200)
                                 .disableThinking()
                                 .temperature(0.2)
-                                .keepAlive("0s")
+                                .keepAlive(residencyManager.keepAlive())
                                 .build()
                 )
                 .build();
+
+        return new ResidentChatModel(PAYLOAD_MODEL, model, residencyManager);
     }
 }
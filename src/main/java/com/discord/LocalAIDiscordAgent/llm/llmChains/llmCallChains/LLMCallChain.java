@@ -4,7 +4,11 @@ import com.discord.LocalAIDiscordAgent.llm.llmTools.generators.service.FileGener
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.chatMemoryAdvisor.ChatMemoryPreparationService;
 import com.discord.LocalAIDiscordAgent.comfyui.service.ComfyuiService;
 import com.discord.LocalAIDiscordAgent.discord.data.DiscGlobalData;
+import com.discord.LocalAIDiscordAgent.llm.config.model.LLMConfigModel;
+import com.discord.LocalAIDiscordAgent.llm.llmPreflight.PreflightPreparationService;
+import com.discord.LocalAIDiscordAgent.llm.llmPreflight.records.PreflightDecision;
 import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.RouteDecisionPreparationService;
+import com.discord.LocalAIDiscordAgent.llm.modelResidency.ModelResidencyManager;
 import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision;
 import com.discord.LocalAIDiscordAgent.objectMapper.MapperUtils;
 import com.discord.LocalAIDiscordAgent.llm.llmChains.data.PromptData;
@@ -13,11 +17,14 @@ import com.discord.LocalAIDiscordAgent.memory.ragMemory.ragAdvisor.RagContextPre
 import com.discord.LocalAIDiscordAgent.llm.systemMessage.records.SystemMsgRecords.RetrievedContext;
 import com.discord.LocalAIDiscordAgent.llm.systemMessage.records.SystemMsgRecords.RuntimeContext;
 import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.service.WebSearchPreparationService;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 
@@ -32,6 +39,12 @@ public class LLMCallChain {
     private final MapperUtils mapperUtils;
     private final FileGeneratorLLMChainService fileGeneratorService;
     private final WebSearchPreparationService webSearchPreparationService;
+    private final PreflightPreparationService preflightPreparationService;
+    private final ModelResidencyManager residencyManager;
+    private final BlockingSchedulers schedulers;
+
+    @Value("${llm.chain.stage.timeout.seconds}")
+    private long stageTimeoutSeconds;
 
     public LLMCallChain(
             LLMToolCalls LLMToolCalls,
@@ -39,7 +52,10 @@ public class LLMCallChain {
             ChatMemoryPreparationService chatMemoryPreparationService,
             RagContextPreparationService ragContextService,
             MapperUtils mapperUtils, FileGeneratorLLMChainService fileGeneratorService,
-            WebSearchPreparationService webSearchPreparationService
+            WebSearchPreparationService webSearchPreparationService,
+            PreflightPreparationService preflightPreparationService,
+            ModelResidencyManager residencyManager,
+            BlockingSchedulers schedulers
     ) {
         this.LLMToolCalls = LLMToolCalls;
         this.routeDecisionService = routeDecisionPreparationService;
@@ -48,13 +64,32 @@ public class LLMCallChain {
         this.mapperUtils = mapperUtils;
         this.fileGeneratorService = fileGeneratorService;
         this.webSearchPreparationService = webSearchPreparationService;
+        this.preflightPreparationService = preflightPreparationService;
+        this.residencyManager = residencyManager;
+        this.schedulers = schedulers;
     }
 
+    /**
+     * Obvious messages are routed by the fast path without any LLM call. Otherwise uses the combined
+     * preflight call when enabled and valid, keeping its other answers on DiscGlobalData for the text
+     * chain, and falls back to the dedicated route classifier.
+     */
     public RouteDecision decideRoute(DiscGlobalData discGlobalData) {
+        RouteDecision fastDecision = routeDecisionService.prepareFastPath(discGlobalData);
+        if (fastDecision != null) {
+            return fastDecision;
+        }
+
+        PreflightDecision preflight = preflightPreparationService.prepare(discGlobalData);
+        if (preflight != null) {
+            discGlobalData.setPreflightDecision(preflight);
+            return preflight.toRouteDecision();
+        }
+
         return routeDecisionService.prepare(discGlobalData);
     }
 
-    public RuntimeContext executeTextContextRuntime(DiscGlobalData discGlobalData, boolean requiresContext) {
+    public Mono<RuntimeContext> executeTextContextRuntime(DiscGlobalData discGlobalData, boolean requiresContext) {
         PromptData promptData = new PromptData(mapperUtils);
         return executeTextResponseChain(discGlobalData, promptData, requiresContext);
     }
@@ -71,35 +106,90 @@ public class LLMCallChain {
         return fileGeneratorService.musicGenerationLLMChain(discGlobalData, requiresContext);
     }
 
+    /**
+     * Memory selection runs concurrently with the retrieved-context lookup, each into its own PromptData,
+     * and both are merged afterwards. The web-search necessity check only runs when the lookup found
+     * nothing; the web-search tool and the summary depend on those results and run after the join.
+     * The stages run on {@code schedulers.llm()}, so the chain is returned instead of blocked on.
+     */
     @NotNull
-    private RuntimeContext executeTextResponseChain(DiscGlobalData discGlobalData, PromptData promptData, boolean requiresContext) {
-        chatMemoryService.prepare(discGlobalData, promptData);
-        ragContextService.prepare(discGlobalData, promptData, requiresContext);
+    private Mono<RuntimeContext> executeTextResponseChain(DiscGlobalData discGlobalData, PromptData promptData, boolean requiresContext) {
+        PromptData memoryStage = new PromptData(mapperUtils);
+        PromptData ragStage = new PromptData(mapperUtils);
+        PromptData webSearchStage = new PromptData(mapperUtils);
+        PreflightDecision preflight = discGlobalData.getPreflightDecision();
 
-        if (promptData.getRetrievedContext() == null) {
-            webSearchPreparationService.prepare(discGlobalData, promptData);
-            executeWebSearchyChain( discGlobalData, promptData);
-        }
+        // the reply itself runs on the text model once these stages finish, which use the structured and
+        // tool models first; the prefetch is skipped if it would leave no slot for them
+        residencyManager.prefetch(LLMConfigModel.TEXT_MODEL, LLMConfigModel.STRUCTURED_MODEL, LLMConfigModel.TOOL_MODEL);
 
-        if (promptData.getRetrievedContext() != null) {
-            LLMToolCalls.callSummaryTool(promptData, discGlobalData);
-        }
+        Boolean memoryRelevant = preflight == null ? null : preflight.memoryRelevant();
+        String ragQuery = preflight == null ? null : preflight.ragQuery();
+        Boolean needsWebSearch = preflight == null ? null : preflight.needsWebSearch();
+
+        Mono<Void> ragThenWebSearchNecessity = runStage("rag-context", () -> ragContextService.prepare(discGlobalData, ragStage, requiresContext, ragQuery))
+                .then(Mono.defer(() -> ragStage.getRetrievedContext() != null
+                        ? Mono.<Void>empty()
+                        : runStage("web-search-necessity", () -> webSearchPreparationService.prepare(discGlobalData, webSearchStage, needsWebSearch))));
+
+        return Mono.when(
+                        runStage("chat-memory", () -> chatMemoryService.prepare(discGlobalData, memoryStage, memoryRelevant)),
+                        ragThenWebSearchNecessity
+                )
+                .then(Mono.fromCallable(() -> {
+                    mergeStages(promptData, memoryStage, ragStage, webSearchStage);
+
+                    if (promptData.getRetrievedContext() == null) {
+                        executeWebSearchyChain(discGlobalData, promptData);
+                    }
+
+                    if (promptData.getRetrievedContext() != null) {
+                        LLMToolCalls.callSummaryTool(promptData, discGlobalData);
+                    }
 
+                    return buildRuntimeContext(discGlobalData, promptData);
+                }).subscribeOn(schedulers.llm()));
+    }
+
+    private RuntimeContext buildRuntimeContext(DiscGlobalData discGlobalData, PromptData promptData) {
         return new RuntimeContext(
                 LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).toString(),
                 discGlobalData.getUserProfile(),
                 null,
                 promptData.getSummary() == null ? null : new RetrievedContext(promptData.getSummary()),
-                promptData.getChatMemoryPayload().longTermMemory(),
-                promptData.getChatMemoryPayload().recentMessages(),
-                promptData.getChatMemoryPayload().groupMemory(),
+                promptData.hasChatMemoryPayload() ? promptData.getChatMemoryPayload().longTermMemory() : null,
+                promptData.hasChatMemoryPayload() ? promptData.getChatMemoryPayload().recentMessages() : null,
+                promptData.hasChatMemoryPayload() ? promptData.getChatMemoryPayload().groupMemory() : null,
                 null
         );
     }
 
     private void executeWebSearchyChain(DiscGlobalData discGlobalData, PromptData promptData) {
         if (promptData.isWebSearchRequired()) {
-            LLMToolCalls.callWebSearchTool(discGlobalData);
+            LLMToolCalls.callWebSearchTool(discGlobalData, promptData);
+        }
+    }
+
+    private Mono<Void> runStage(String stage, Runnable task) {
+        return Mono.fromRunnable(task)
+                .subscribeOn(schedulers.llm())
+                .timeout(Duration.ofSeconds(stageTimeoutSeconds))
+                .doOnError(error -> log.warn("Pre-answer stage '{}' failed or timed out: {}", stage, error.toString()))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private void mergeStages(PromptData target, PromptData memoryStage, PromptData ragStage, PromptData webSearchStage) {
+        if (memoryStage.hasChatMemoryPayload()) {
+            target.setChatMemoryPayload(memoryStage.getChatMemoryPayload());
         }
+
+        if (ragStage.getRetrievedContext() != null) {
+            target.setQueryString(ragStage.getQueryString());
+            target.setVectorDBResults(ragStage.getVectorDBResults());
+            target.setRetrievedContext(ragStage.getRetrievedContext());
+        }
+
+        target.setWebSearchRequired(webSearchStage.isWebSearchRequired());
     }
 }
\ No newline at end of file
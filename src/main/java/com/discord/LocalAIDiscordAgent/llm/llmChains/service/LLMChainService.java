@@ -8,6 +8,7 @@ import com.discord.LocalAIDiscordAgent.llm.systemMessage.records.SystemMsgRecord
 import com.discord.LocalAIDiscordAgent.llm.systemMessage.records.SystemMsgRecords.SystemMessageConfig;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @Service
@@ -24,12 +25,11 @@ public class LLMChainService {
         this.llmCallChain = llmCallChain;
     }
 
-    public String getSystemPromptAsJson(DiscGlobalData discGlobalData, boolean requiresContext) {
-        RuntimeContext runtimeContext = llmCallChain.executeTextContextRuntime(discGlobalData, requiresContext);
-
-        return systemMessageFactory.buildSystemMessage(
-                buildSystemMessageConfig(runtimeContext)
-        );
+    public Mono<String> getSystemPromptAsJson(DiscGlobalData discGlobalData, boolean requiresContext) {
+        return llmCallChain.executeTextContextRuntime(discGlobalData, requiresContext)
+                .map(runtimeContext -> systemMessageFactory.buildSystemMessage(
+                        buildSystemMessageConfig(runtimeContext)
+                ));
     }
 
     private SystemMessageConfig buildSystemMessageConfig(RuntimeContext context) {
@@ -9,21 +9,18 @@ import org.springframework.stereotype.Component;
 @Component
 public class LLMToolCalls {
 
-    private final PromptData promptData;
     private final ToolService toolService;
     private final ToolSummaryService toolSummaryService;
 
     public LLMToolCalls(
             ToolSummaryService toolSummaryService,
-            ToolService toolService,
-            PromptData promptData
+            ToolService toolService
     ) {
-        this.promptData = promptData;
         this.toolService = toolService;
         this.toolSummaryService = toolSummaryService;
     }
 
-    public void callWebSearchTool(DiscGlobalData discGlobalData) {
+    public void callWebSearchTool(DiscGlobalData discGlobalData, PromptData promptData) {
         String toolContext = toolService.executeTools(discGlobalData);
         promptData.setRetrievedContext(toolContext);
     }
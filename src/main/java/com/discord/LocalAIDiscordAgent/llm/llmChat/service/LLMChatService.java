@@ -5,6 +5,7 @@ import com.discord.LocalAIDiscordAgent.discord.data.DiscGlobalDataContextHolder;
 import com.discord.LocalAIDiscordAgent.successHandler.ProcessChatClient;
 import com.discord.LocalAIDiscordAgent.llm.llmChat.helpers.ChatClientHelpers;
 import com.discord.LocalAIDiscordAgent.llm.llmChains.service.LLMChainService;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
 import com.discord.LocalAIDiscordAgent.user.model.UserEntity;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
@@ -13,9 +14,10 @@ import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 
@@ -26,20 +28,26 @@ public class LLMChatService {
     private final ChatClient chatClient;
     private final ProcessChatClient process;
     private final LLMChainService LLMChainService;
+    private final BlockingSchedulers schedulers;
+
+    @Value("${llm.text.streaming.enabled}")
+    private boolean streamingEnabled;
 
     public LLMChatService(
             LLMChainService LLMChainService,
             ChatClient llmTextClient,
-            ProcessChatClient processChatClient
+            ProcessChatClient processChatClient,
+            BlockingSchedulers schedulers
     ) {
         this.chatClient = llmTextClient;
         this.LLMChainService = LLMChainService;
         this.process = processChatClient;
+        this.schedulers = schedulers;
     }
 
     public Mono<String> generateLLMResponse(UserEntity userEntity, DiscGlobalData discGlobalData, boolean requiresContext) {
-        return Mono.fromCallable(() -> callLLM(discGlobalData, requiresContext))
-                .subscribeOn(Schedulers.boundedElastic())
+        return buildPrompt(discGlobalData, requiresContext)
+                .flatMap(prompt -> Mono.fromCallable(() -> callLLM(prompt)).subscribeOn(schedulers.llm()))
                 .flatMap(chatResponse -> {
                     if (chatResponse == null) {
                         return Mono.empty();
@@ -67,23 +75,76 @@ public class LLMChatService {
                 });
     }
 
-    private ChatResponse callLLM(DiscGlobalData discGlobalData, boolean requiresContext) {
-        String systemPrompt = LLMChainService.getSystemPromptAsJson(discGlobalData, requiresContext);
-        if (systemPrompt == null) {
-            return null;
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
+
+    /**
+     * Streams the reply as text deltas. The interaction is saved once the stream completes; on failure a
+     * fallback line is emitted instead of an error.
+     */
+    public Flux<String> streamLLMResponse(UserEntity userEntity, DiscGlobalData discGlobalData, boolean requiresContext) {
+        return Flux.defer(() -> {
+            StringBuilder fullResponse = new StringBuilder();
+
+            return buildPrompt(discGlobalData, requiresContext)
+                    .flatMapMany(prompt -> chatClient.prompt(prompt)
+                            .stream()
+                            .content())
+                    .filter(delta -> delta != null && !delta.isEmpty())
+                    .doOnNext(fullResponse::append)
+                    .concatWith(Mono.defer(() -> saveStreamedInteraction(userEntity, discGlobalData, fullResponse.toString()))
+                            .then(Mono.<String>empty()))
+                    .onErrorResume(e -> {
+                        log.error("Ollama streaming error ({})", e.getMessage(), e);
+                        return Flux.just((fullResponse.isEmpty() ? "" : "\n")
+                                + "I had a problem generating a response. Please try again.");
+                    });
+        });
+    }
+
+    private Mono<Void> saveStreamedInteraction(UserEntity userEntity, DiscGlobalData discGlobalData, String response) {
+        if (response.isBlank()) {
+            return Mono.empty();
         }
 
-        Prompt prompt = Prompt.builder()
-                .messages(List.of(
-                        new SystemMessage(systemPrompt),
-                        new UserMessage(discGlobalData.getUserMessage())
-                ))
-                .build();
+        String assistantMessage = response.trim();
+        log.debug("Ollama streamed response: {}", assistantMessage);
 
-        log.info("Ollama prompt: {}", prompt);
+        return process.saveInteraction(
+                        new UserMessage(discGlobalData.getUserMessage()),
+                        new AssistantMessage(assistantMessage),
+                        userEntity
+                )
+                .contextWrite(ctx -> DiscGlobalDataContextHolder.put(ctx, discGlobalData))
+                .doOnSuccess(unused -> log.debug("Successfully saved streamed chat interaction for user: {}", discGlobalData.getUserId()))
+                .onErrorResume(e -> {
+                    log.error("Failed to save streamed chat interaction ({})", e.getMessage(), e);
+                    return Mono.empty();
+                });
+    }
 
+    private ChatResponse callLLM(Prompt prompt) {
         return chatClient.prompt(prompt)
                 .call()
                 .chatResponse();
     }
+
+    /**
+     * Empty when the system prompt could not be built.
+     */
+    private Mono<Prompt> buildPrompt(DiscGlobalData discGlobalData, boolean requiresContext) {
+        return LLMChainService.getSystemPromptAsJson(discGlobalData, requiresContext)
+                .map(systemPrompt -> {
+                    Prompt prompt = Prompt.builder()
+                            .messages(List.of(
+                                    new SystemMessage(systemPrompt),
+                                    new UserMessage(discGlobalData.getUserMessage())
+                            ))
+                            .build();
+
+                    log.info("Ollama prompt: {}", prompt);
+                    return prompt;
+                });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.discord.LocalAIDiscordAgent.llm.llmPreflight;
+
+import com.discord.LocalAIDiscordAgent.llm.llmPreflight.records.PreflightDecision;
+import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.RouteDecisionValidator;
+import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PreflightDecisionValidator {
+
+    private final RouteDecisionValidator routeValidator;
+
+    public PreflightDecisionValidator(RouteDecisionValidator routeValidator) {
+        this.routeValidator = routeValidator;
+    }
+
+    /**
+     * Returns the decision with its route part normalized, or null when any field the
+     * downstream stages rely on is missing.
+     */
+    public PreflightDecision normalize(PreflightDecision decision) {
+        if (decision == null
+                || decision.mode() == null
+                || decision.requiresContext() == null
+                || decision.memoryRelevant() == null
+                || decision.needsWebSearch() == null) {
+            return null;
+        }
+
+        RouteDecision route = routeValidator.normalize(decision.toRouteDecision());
+        if (!routeValidator.isUsable(route)) {
+            return null;
+        }
+
+        String ragQuery = normalizeString(decision.ragQuery());
+        if (route.requiresContext() && ragQuery == null) {
+            return null;
+        }
+
+        return new PreflightDecision(
+                route.mode(),
+                route.normalizedPrompt(),
+                route.reason(),
+                route.requiresContext(),
+                decision.memoryRelevant(),
+                ragQuery,
+                decision.needsWebSearch()
+        );
+    }
+
+    private String normalizeString(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String trimmed = value.trim();
+        return trimmed.isBlank() ? null : trimmed;
+    }
+}
@@ -0,0 +1,74 @@
+package com.discord.LocalAIDiscordAgent.llm.llmPreflight;
+
+import com.discord.LocalAIDiscordAgent.discord.data.DiscGlobalData;
+import com.discord.LocalAIDiscordAgent.llm.llmPreflight.internalCall.PreflightDecisionService;
+import com.discord.LocalAIDiscordAgent.llm.llmPreflight.records.PreflightDecision;
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.records.ChatMemorySnapshotRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Optional single structured call that answers route, memory relevance, rag query and web-search
+ * necessity at once. Returns null whenever the per-classifier path should be used instead.
+ */
+@Slf4j
+@Service
+public class PreflightPreparationService {
+
+    private final PreflightDecisionService preflightDecisionService;
+    private final PreflightDecisionValidator validator;
+
+    @Value("${llm.preflight.enabled}")
+    private boolean enabled;
+
+    public PreflightPreparationService(
+            PreflightDecisionService preflightDecisionService,
+            PreflightDecisionValidator validator
+    ) {
+        this.preflightDecisionService = preflightDecisionService;
+        this.validator = validator;
+    }
+
+    public PreflightDecision prepare(DiscGlobalData discGlobalData) {
+        if (!enabled) {
+            return null;
+        }
+
+        String userMessage = normalize(discGlobalData.getUserMessage());
+        if (userMessage == null) {
+            return null;
+        }
+
+        ChatMemorySnapshotRecord memorySnapshot = new ChatMemorySnapshotRecord(
+                discGlobalData.getGroupChatMemory(),
+                discGlobalData.getLongTermMemoryData(),
+                discGlobalData.getRecentMessages(),
+                null,
+                null
+        );
+
+        try {
+            PreflightDecision decision = validator.normalize(
+                    preflightDecisionService.decide(userMessage, memorySnapshot)
+            );
+
+            if (decision == null) {
+                log.info("Preflight decision failed validation, falling back to per-classifier path");
+            }
+            return decision;
+        } catch (Exception e) {
+            log.warn("Preflight call failed, falling back to per-classifier path: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String trimmed = value.trim();
+        return trimmed.isBlank() ? null : trimmed;
+    }
+}
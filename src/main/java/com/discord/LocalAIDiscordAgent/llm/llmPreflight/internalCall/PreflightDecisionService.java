@@ -0,0 +1,97 @@
+package com.discord.LocalAIDiscordAgent.llm.llmPreflight.internalCall;
+
+import com.discord.LocalAIDiscordAgent.llm.llmPreflight.records.PreflightDecision;
+import com.discord.LocalAIDiscordAgent.objectMapper.MapperUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.StructuredOutputValidationAdvisor;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.converter.BeanOutputConverter;
+import org.springframework.ai.ollama.api.OllamaChatOptions;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+@Slf4j
+@Service
+public class PreflightDecisionService {
+
+    private final ChatClient llm;
+    private final MapperUtils mapperUtils;
+
+    private static final String SYSTEM_MSG = """
+            You pre-process a Discord chat request in one pass and return every field of the structured output.
+
+            mode:
+            TEXT  = the user wants a normal text answer, explanation, code, analysis, summary, or chat response.
+            IMAGE = the user wants an image to be created, drawn, illustrated, rendered, designed, or edited.
+            VIDEO = the user wants a video to be created, animated, generated, rendered, or storyboarded as a video output.
+            MUSIC = the user wants music, a song, instrumental, beat, soundtrack, melody, audio track, or musical composition to be created or generated.
+            - Choose IMAGE, VIDEO or MUSIC only when the user explicitly asks for that output. Otherwise choose TEXT.
+
+            normalizedPrompt:
+            - a cleaned-up generation prompt if mode is IMAGE, VIDEO, or MUSIC.
+            - empty for TEXT.
+
+            requiresContext:
+            - true if the user explicitly asks for context, such as a detailed explanation, analysis, or code snippet.
+            - true if the user questions the context, such as "What is this?" or "How does it work?".
+
+            memoryRelevant:
+            - true only when the chat memory inside <memory> matches the user message in a meaningful way.
+            - false if <memory> is empty or the relevance is weak, partial, or based on keyword overlap alone.
+
+            ragQuery:
+            - a compact but semantically rich search query preserving the subject, intent, entities, and constraints of the user message.
+            - plain query text, no explanations.
+
+            needsWebSearch:
+            - true only if answering requires current or recent information, factual verification, external lookup,
+              precise real-world data, source-backed claims, or changeable facts such as news, prices, laws, schedules, releases, or rankings.
+            - true if the user explicitly asks to search, look something up, verify, or find sources or citations.
+            - prefer false if the request can be answered without external lookup.
+
+            Return only valid structured output.
+
+            <memory>
+            %s
+            </memory>
+            """;
+
+    public PreflightDecisionService(ChatModel llmStructuredModel, MapperUtils mapperUtils) {
+        this.mapperUtils = mapperUtils;
+
+        var converter = new BeanOutputConverter<>(PreflightDecision.class);
+
+        Map<String, Object> schemaFormat = converter.getJsonSchemaMap();
+
+        var validation = StructuredOutputValidationAdvisor.builder()
+                .outputType(PreflightDecision.class)
+                .objectMapper(MapperUtils.lenientJsonMapper())
+                .maxRepeatAttempts(2)
+                .build();
+
+        this.llm = ChatClient.builder(llmStructuredModel)
+                .defaultOptions(OllamaChatOptions.builder()
+                        .temperature(0.0)
+                        .format(schemaFormat)
+                        .build())
+                .defaultAdvisors(validation)
+                .build();
+    }
+
+    public PreflightDecision decide(String userMessage, Record memorySnapshot) {
+        PreflightDecision decision = llm.prompt()
+                .system(SYSTEM_MSG.formatted(mapperUtils.valuesToString(memorySnapshot)))
+                .user("""
+                        Pre-process this request:
+
+                        %s
+                        """.formatted(userMessage))
+                .call()
+                .entity(PreflightDecision.class);
+
+        log.info("Raw preflight decision: {}", decision);
+        return decision;
+    }
+}
@@ -0,0 +1,18 @@
+package com.discord.LocalAIDiscordAgent.llm.llmPreflight.records;
+
+import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision;
+import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision.Mode;
+
+public record PreflightDecision(
+        Mode mode,
+        String normalizedPrompt,
+        String reason,
+        Boolean requiresContext,
+        Boolean memoryRelevant,
+        String ragQuery,
+        Boolean needsWebSearch
+) {
+    public RouteDecision toRouteDecision() {
+        return new RouteDecision(mode, normalizedPrompt, reason, requiresContext);
+    }
+}
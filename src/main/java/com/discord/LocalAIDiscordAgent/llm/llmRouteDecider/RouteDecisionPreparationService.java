@@ -1,6 +1,7 @@
 package com.discord.LocalAIDiscordAgent.llm.llmRouteDecider;
 
 import com.discord.LocalAIDiscordAgent.discord.data.DiscGlobalData;
+import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.fastPath.RouteFastPathClassifier;
 import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.internalCall.RouteDecisionService;
 import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision;
 import lombok.extern.slf4j.Slf4j;
@@ -12,15 +13,35 @@ public class RouteDecisionPreparationService {
 
     private final RouteDecisionService routeDecisionService;
     private final RouteDecisionValidator validator;
+    private final RouteFastPathClassifier fastPath;
 
     public RouteDecisionPreparationService(
             RouteDecisionService routeDecisionService,
-            RouteDecisionValidator validator
+            RouteDecisionValidator validator,
+            RouteFastPathClassifier fastPath
     ) {
         this.routeDecisionService = routeDecisionService;
         this.validator = validator;
+        this.fastPath = fastPath;
     }
 
+    /**
+     * Deterministic rules and the trained classifier only; null when they abstain. Consulted before any
+     * LLM call, the combined preflight included.
+     */
+    public RouteDecision prepareFastPath(DiscGlobalData discGlobalData) {
+        RouteDecision fastDecision = fastPath.classify(normalize(discGlobalData.getUserMessage()));
+        if (fastDecision == null) {
+            return null;
+        }
+
+        RouteDecision normalizedFastDecision = validator.normalize(fastDecision);
+        return validator.isUsable(normalizedFastDecision) ? normalizedFastDecision : null;
+    }
+
+    /**
+     * Dedicated LLM route classifier, for messages the fast path abstained on.
+     */
     public RouteDecision prepare(DiscGlobalData discGlobalData) {
 
         String normalizedUserMessage = normalize(discGlobalData.getUserMessage());
@@ -29,12 +50,15 @@ public class RouteDecisionPreparationService {
 //            return
         }
 
-        RouteDecision rawDecision = routeDecisionService.decide(normalizedUserMessage);
-        RouteDecision normalizedDecision = validator.normalize(rawDecision);
+        RouteDecisionService.LlmRouteDecision rawDecision = routeDecisionService.decide(normalizedUserMessage);
+        RouteDecision normalizedDecision = validator.normalize(rawDecision.decision());
 
 
         if (!validator.isUsable(normalizedDecision)) {
             normalizedDecision = RouteDecision.textFallback("Route decision failed validation");
+        } else if (rawDecision.fromModel()) {
+            // cache hits were logged when first decided
+            fastPath.recordDecision(normalizedUserMessage, normalizedDecision);
         }
 
 //        promptData.setRouteDecision(normalizedDecision);
@@ -0,0 +1,138 @@
+package com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.fastPath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Multinomial logistic regression over hashed character 2-4 grams. Small enough to train in-process
+ * from a few thousand logged decisions in well under a second, and cheap enough to run on every mention.
+ * Instances are immutable once trained.
+ */
+final class CharNgramClassifier {
+
+    private static final int FEATURE_BITS = 14;
+    private static final int FEATURES = 1 << FEATURE_BITS;
+    private static final int MIN_GRAM = 2;
+    private static final int MAX_GRAM = 4;
+    private static final int MAX_TEXT_LENGTH = 300;
+
+    private final List<String> labels;
+    private final float[][] weights;
+    private final float[] bias;
+
+    private CharNgramClassifier(List<String> labels, float[][] weights, float[] bias) {
+        this.labels = labels;
+        this.weights = weights;
+        this.bias = bias;
+    }
+
+    static CharNgramClassifier train(List<Sample> samples, int epochs, double learningRate, double l2) {
+        List<String> labels = samples.stream()
+                .map(Sample::label)
+                .distinct()
+                .sorted()
+                .toList();
+
+        float[][] weights = new float[labels.size()][FEATURES];
+        float[] bias = new float[labels.size()];
+
+        List<Encoded> encoded = new ArrayList<>(samples.size());
+        for (Sample sample : samples) {
+            encoded.add(new Encoded(features(sample.text()), labels.indexOf(sample.label())));
+        }
+
+        Random random = new Random(42);
+        double[] scores = new double[labels.size()];
+
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            Collections.shuffle(encoded, random);
+            double rate = learningRate / (1 + epoch * 0.5);
+
+            for (Encoded sample : encoded) {
+                softmax(weights, bias, sample.features(), scores);
+
+                for (int label = 0; label < scores.length; label++) {
+                    double gradient = scores[label] - (label == sample.label() ? 1 : 0);
+                    float[] row = weights[label];
+                    for (int feature : sample.features()) {
+                        row[feature] -= (float) (rate * (gradient + l2 * row[feature]));
+                    }
+                    bias[label] -= (float) (rate * gradient);
+                }
+            }
+        }
+
+        return new CharNgramClassifier(labels, weights, bias);
+    }
+
+    Prediction predict(String text) {
+        double[] scores = new double[labels.size()];
+        softmax(weights, bias, features(text), scores);
+
+        int best = 0;
+        for (int label = 1; label < scores.length; label++) {
+            if (scores[label] > scores[best]) {
+                best = label;
+            }
+        }
+        return new Prediction(labels.get(best), scores[best]);
+    }
+
+    List<String> labels() {
+        return labels;
+    }
+
+    private static void softmax(float[][] weights, float[] bias, int[] features, double[] out) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int label = 0; label < out.length; label++) {
+            double score = bias[label];
+            for (int feature : features) {
+                score += weights[label][feature];
+            }
+            out[label] = score;
+            max = Math.max(max, score);
+        }
+
+        double sum = 0;
+        for (int label = 0; label < out.length; label++) {
+            out[label] = Math.exp(out[label] - max);
+            sum += out[label];
+        }
+        for (int label = 0; label < out.length; label++) {
+            out[label] /= sum;
+        }
+    }
+
+    /**
+     * Distinct hashed n-gram ids of the lower-cased, whitespace-collapsed text, padded with a space on
+     * both ends so word boundaries become features too.
+     */
+    static int[] features(String text) {
+        String normalized = text == null ? "" : text.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+        if (normalized.length() > MAX_TEXT_LENGTH) {
+            normalized = normalized.substring(0, MAX_TEXT_LENGTH);
+        }
+        String padded = " " + normalized + " ";
+
+        int[] ids = new int[padded.length() * (MAX_GRAM - MIN_GRAM + 1)];
+        int count = 0;
+        for (int n = MIN_GRAM; n <= MAX_GRAM; n++) {
+            for (int start = 0; start + n <= padded.length(); start++) {
+                int hash = padded.substring(start, start + n).hashCode() * 0x9E3779B1;
+                ids[count++] = hash >>> (Integer.SIZE - FEATURE_BITS);
+            }
+        }
+
+        return Arrays.stream(ids, 0, count).distinct().toArray();
+    }
+
+    record Sample(String text, String label) {}
+
+    record Prediction(String label, double probability) {}
+
+    private record Encoded(int[] features, int label) {}
+}
@@ -0,0 +1,293 @@
+package com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.fastPath;
+
+import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision;
+import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision.Mode;
+import com.discord.LocalAIDiscordAgent.metrics.MetricsSource;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cheap tier in front of the LLM route classifier. Regex rules catch small talk and explicit
+ * generation requests; a character n-gram classifier trained from previously logged LLM decisions
+ * catches the rest when it is confident. Anything else returns null and falls through to the LLM.
+ * <p>
+ * Only fresh LLM decisions are logged for training, so the classifier never learns from its own output
+ * or from classifier cache hits. Lines are appended off the caller's thread; once the log holds
+ * {@code MAX_TRAINING_EXAMPLES} lines it is rotated to {@code <log>.1}, so the two files together always
+ * keep the newest examples and never more than twice that many.
+ */
+@Slf4j
+@Component
+public class RouteFastPathClassifier implements MetricsSource {
+
+    private static final int MAX_TRAINING_EXAMPLES = 5000;
+    private static final int TRAINING_EPOCHS = 8;
+    private static final double LEARNING_RATE = 0.2;
+    private static final double L2 = 1e-5;
+
+    private final boolean enabled;
+    private final double minConfidence;
+    private final Path decisionLog;
+    private final int minTrainingExamples;
+    private final int retrainEvery;
+    private final BlockingSchedulers schedulers;
+
+    private volatile CharNgramClassifier classifier;
+
+    private final Object logLock = new Object();
+    private final Queue<String> pendingLines = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private int linesInLog = -1;
+    private final AtomicInteger loggedSinceTraining = new AtomicInteger();
+    private final AtomicBoolean training = new AtomicBoolean();
+
+    private final AtomicLong ruleHits = new AtomicLong();
+    private final AtomicLong classifierHits = new AtomicLong();
+    private final AtomicLong fallThroughs = new AtomicLong();
+
+    public RouteFastPathClassifier(
+            @Value("${llm.route.fastpath.enabled}") boolean enabled,
+            @Value("${llm.route.fastpath.min.confidence}") double minConfidence,
+            @Value("${llm.route.fastpath.decision.log}") String decisionLog,
+            @Value("${llm.route.fastpath.min.training.examples}") int minTrainingExamples,
+            @Value("${llm.route.fastpath.retrain.every}") int retrainEvery,
+            BlockingSchedulers schedulers
+    ) {
+        this.enabled = enabled;
+        this.minConfidence = minConfidence;
+        this.decisionLog = Path.of(decisionLog);
+        this.minTrainingExamples = Math.max(1, minTrainingExamples);
+        this.retrainEvery = Math.max(1, retrainEvery);
+        this.schedulers = schedulers;
+    }
+
+    @PostConstruct
+    void trainFromLog() {
+        if (enabled) {
+            schedulers.database().schedule(this::retrain);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flushPending();
+    }
+
+    /**
+     * Returns a decision when the message is obvious, otherwise null.
+     */
+    public RouteDecision classify(String userMessage) {
+        if (!enabled || userMessage == null || userMessage.isBlank()) {
+            return null;
+        }
+
+        RouteDecision ruleDecision = RouteRules.match(userMessage);
+        if (ruleDecision != null) {
+            ruleHits.incrementAndGet();
+            log.info("Route fast path (rule): {}", ruleDecision);
+            return ruleDecision;
+        }
+
+        CharNgramClassifier current = classifier;
+        if (current != null) {
+            CharNgramClassifier.Prediction prediction = current.predict(userMessage);
+            if (prediction.probability() >= minConfidence) {
+                RouteDecision modelDecision = fromLabel(prediction, userMessage.trim());
+                classifierHits.incrementAndGet();
+                log.info("Route fast path (classifier p={}): {}", String.format("%.3f", prediction.probability()), modelDecision);
+                return modelDecision;
+            }
+        }
+
+        fallThroughs.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Queues a fresh LLM decision for the training log; the append and, every {@code retrainEvery} new
+     * entries, the retraining run in the background.
+     */
+    public void recordDecision(String userMessage, RouteDecision decision) {
+        if (!enabled || userMessage == null || userMessage.isBlank() || decision == null || decision.mode() == null) {
+            return;
+        }
+
+        pendingLines.add(toLabel(decision) + "\t" + userMessage.replaceAll("[\\t\\r\\n]+", " ").trim());
+        if (flushScheduled.compareAndSet(false, true)) {
+            schedulers.database().schedule(this::flushPending);
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "route-fast-path";
+    }
+
+    @Override
+    public FastPathMetrics metrics() {
+        return new FastPathMetrics(ruleHits.get(), classifierHits.get(), fallThroughs.get(), classifier != null);
+    }
+
+    private void flushPending() {
+        flushScheduled.set(false);
+
+        int written = 0;
+        try {
+            synchronized (logLock) {
+                Path parent = decisionLog.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                if (linesInLog < 0) {
+                    linesInLog = countLines(decisionLog);
+                }
+
+                BufferedWriter writer = null;
+                try {
+                    String line;
+                    while ((line = pendingLines.poll()) != null) {
+                        if (linesInLog >= MAX_TRAINING_EXAMPLES) {
+                            if (writer != null) {
+                                writer.close();
+                                writer = null;
+                            }
+                            Files.move(decisionLog, rotatedLog(), StandardCopyOption.REPLACE_EXISTING);
+                            linesInLog = 0;
+                        }
+                        if (writer == null) {
+                            writer = Files.newBufferedWriter(decisionLog, StandardCharsets.UTF_8,
+                                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                        }
+                        writer.write(line);
+                        writer.newLine();
+                        linesInLog++;
+                        written++;
+                    }
+                } finally {
+                    if (writer != null) {
+                        writer.close();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to log route decision: {}", e.getMessage());
+        }
+
+        if (written > 0 && loggedSinceTraining.addAndGet(written) >= retrainEvery) {
+            loggedSinceTraining.set(0);
+            retrain();
+        }
+    }
+
+    private void retrain() {
+        if (!training.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            List<CharNgramClassifier.Sample> samples = readSamples();
+            long labels = samples.stream().map(CharNgramClassifier.Sample::label).distinct().count();
+
+            if (samples.size() < minTrainingExamples || labels < 2) {
+                log.info("Route classifier not trained: {} logged decisions across {} labels", samples.size(), labels);
+                return;
+            }
+
+            long started = System.nanoTime();
+            classifier = CharNgramClassifier.train(samples, TRAINING_EPOCHS, LEARNING_RATE, L2);
+            log.info("Route classifier trained on {} decisions in {} ms", samples.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Route classifier training failed: {}", e.getMessage());
+        } finally {
+            training.set(false);
+        }
+    }
+
+    /**
+     * Streams the rotated log and then the current one, keeping only the newest
+     * {@code MAX_TRAINING_EXAMPLES} samples in memory.
+     */
+    private List<CharNgramClassifier.Sample> readSamples() throws IOException {
+        Deque<CharNgramClassifier.Sample> samples = new ArrayDeque<>();
+        synchronized (logLock) {
+            for (Path file : List.of(rotatedLog(), decisionLog)) {
+                if (!Files.exists(file)) {
+                    continue;
+                }
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int tab = line.indexOf('\t');
+                        if (tab <= 0 || tab >= line.length() - 1) {
+                            continue;
+                        }
+                        if (samples.size() == MAX_TRAINING_EXAMPLES) {
+                            samples.removeFirst();
+                        }
+                        samples.addLast(new CharNgramClassifier.Sample(line.substring(tab + 1), line.substring(0, tab)));
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(samples);
+    }
+
+    private Path rotatedLog() {
+        return decisionLog.resolveSibling(decisionLog.getFileName() + ".1");
+    }
+
+    private static int countLines(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int lines = 0;
+            while (reader.readLine() != null) {
+                lines++;
+            }
+            return lines;
+        }
+    }
+
+    private static String toLabel(RouteDecision decision) {
+        return decision.mode().name() + ":" + Boolean.TRUE.equals(decision.requiresContext());
+    }
+
+    private static RouteDecision fromLabel(CharNgramClassifier.Prediction prediction, String userMessage) {
+        String[] parts = prediction.label().split(":", 2);
+        Mode mode = Mode.valueOf(parts[0]);
+        boolean requiresContext = parts.length > 1 && Boolean.parseBoolean(parts[1]);
+
+        return new RouteDecision(
+                mode,
+                mode == Mode.TEXT ? "" : userMessage,
+                "Fast path: classifier",
+                requiresContext
+        );
+    }
+
+    public record FastPathMetrics(long ruleHits, long classifierHits, long fallThroughs, boolean classifierTrained) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.fastPath;
+
+import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision;
+import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision.Mode;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hand-written patterns for messages whose route is unambiguous. Generation patterns only match an
+ * explicit request at the start of the message ("draw a ...", "make me a song ..."), so questions
+ * such as "how do I make a video" or "draw conclusions" are left to the classifier and the LLM.
+ */
+final class RouteRules {
+
+    private static final String POLITE = "^(?:(?:please|pls|can you|could you|would you|will you)\\s+)*";
+    private static final String ARTICLE = "(?:me\\s+)?(?:(?:a|an|the|some)\\s+)?(?:(?:short|quick|little|new|cool|nice)\\s+)?";
+
+    private static final Pattern SMALL_TALK = Pattern.compile(
+            "^(?:hi|hello|hey|heya|yo|sup|hiya|howdy|thanks|thank you|thx|ty|tysm|cheers|"
+                    + "good (?:morning|night|evening|afternoon)|gm|gn|ok|okay|k|lol|lmao|nice|cool|bye|"
+                    + "how are you|how's it going|what's up|whats up)"
+                    + "(?:\\s+(?:bot|buddy|mate|man|dude|again|so much|a lot))?[\\s!.?,:)(]*$",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private static final String IMAGE_NOUN = "(?:image|picture|pic|photo|drawing|illustration|painting|portrait|wallpaper|artwork)s?\\b";
+    private static final String VIDEO_NOUN = "(?:video|clip|animation)s?\\b";
+    private static final String MUSIC_NOUN = "(?:song|track|beat|instrumental|soundtrack|melody|music|tune|jingle)s?\\b";
+
+    private static final Pattern IMAGE = Pattern.compile(
+            POLITE + "(?:(?:draw|paint|sketch|illustrate)\\s+(?:me\\s+)?(?:a|an|some|my|our)\\s+"
+                    + "(?!(?:conclusion|comparison|parallel|distinction|line|blank)s?\\b)(?:" + IMAGE_NOUN + ")?"
+                    + "|(?:generate|create|make|render|design)\\s+" + ARTICLE + IMAGE_NOUN + ")",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private static final Pattern VIDEO = Pattern.compile(
+            POLITE + "(?:animate\\s+" + ARTICLE
+                    + "|(?:generate|create|make|render|produce)\\s+" + ARTICLE + VIDEO_NOUN + ")",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private static final Pattern MUSIC = Pattern.compile(
+            POLITE + "(?:generate|create|make|produce|write|compose)\\s+" + ARTICLE + MUSIC_NOUN,
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private static final Pattern LEADING_FILLER = Pattern.compile(
+            "^(?:of|about|showing|with|that shows|where|for)?[\\s:,-]*",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private RouteRules() {
+    }
+
+    static RouteDecision match(String message) {
+        if (message == null || message.isBlank()) {
+            return null;
+        }
+
+        String trimmed = message.trim();
+
+        if (SMALL_TALK.matcher(trimmed).matches()) {
+            return new RouteDecision(Mode.TEXT, "", "Fast path: small talk", false);
+        }
+
+        RouteDecision generation = matchGeneration(trimmed, VIDEO, Mode.VIDEO);
+        if (generation == null) {
+            generation = matchGeneration(trimmed, MUSIC, Mode.MUSIC);
+        }
+        if (generation == null) {
+            generation = matchGeneration(trimmed, IMAGE, Mode.IMAGE);
+        }
+        return generation;
+    }
+
+    private static RouteDecision matchGeneration(String message, Pattern pattern, Mode mode) {
+        Matcher matcher = pattern.matcher(message);
+        if (!matcher.lookingAt()) {
+            return null;
+        }
+
+        String subject = LEADING_FILLER.matcher(message.substring(matcher.end()).trim()).replaceFirst("").trim();
+        if (subject.isBlank()) {
+            return null;
+        }
+
+        return new RouteDecision(mode, subject, "Fast path: explicit " + mode.name().toLowerCase() + " request", false);
+    }
+}
@@ -1,5 +1,6 @@
 package com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.internalCall;
 
+import com.discord.LocalAIDiscordAgent.llm.classifierCache.ClassifierResultCache;
 import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision;
 import com.discord.LocalAIDiscordAgent.objectMapper.MapperUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -11,12 +12,14 @@ import org.springframework.ai.ollama.api.OllamaChatOptions;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @Service
 public class RouteDecisionService {
 
     private final ChatClient llm;
+    private final ClassifierResultCache cache;
 
     private static final String SYSTEM_MSG = """
             You classify user requests into exactly one mode:
@@ -40,7 +43,8 @@ public class RouteDecisionService {
             - normalizedPrompt should be empty for TEXT.
             """;
 
-    public RouteDecisionService(ChatModel llmStructuredModel) {
+    public RouteDecisionService(ChatModel llmStructuredModel, ClassifierResultCache cache) {
+        this.cache = cache;
         var converter = new BeanOutputConverter<>(RouteDecision.class);
 
         Map<String, Object> schemaFormat = converter.getJsonSchemaMap();
@@ -60,22 +64,32 @@ public class RouteDecisionService {
                 .build();
     }
 
-    public RouteDecision decide(String userMessage) {
+    public LlmRouteDecision decide(String userMessage) {
         if (userMessage == null || userMessage.isBlank()) {
-            return RouteDecision.textFallback("Empty user message");
+            return new LlmRouteDecision(RouteDecision.textFallback("Empty user message"), false);
         }
 
-        RouteDecision decision = llm.prompt()
-                .system(SYSTEM_MSG)
-                .user("""
-                        Classify this request:
-                        
-                        %s
-                        """.formatted(userMessage))
-                .call()
-                .entity(RouteDecision.class);
+        AtomicBoolean calledModel = new AtomicBoolean();
+        RouteDecision decision = cache.getOrCompute("route", userMessage, () -> {
+            calledModel.set(true);
+            return llm.prompt()
+                    .system(SYSTEM_MSG)
+                    .user("""
+                            Classify this request:
+                            
+                            %s
+                            """.formatted(userMessage))
+                    .call()
+                    .entity(RouteDecision.class);
+        });
 
         log.info("Raw route decision: {}", decision);
-        return decision;
+        return new LlmRouteDecision(decision, calledModel.get());
+    }
+
+    /**
+     * {@code fromModel} is false when the decision came from the classifier cache or a fallback.
+     */
+    public record LlmRouteDecision(RouteDecision decision, boolean fromModel) {
     }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import com.discord.LocalAIDiscordAgent.llm.llmTools.generators.children.imageGen
 import com.discord.LocalAIDiscordAgent.llm.llmTools.generators.children.imageGenerator.preparation.ImageGenerationPreparation;
 import com.discord.LocalAIDiscordAgent.llm.llmTools.generators.parent.service.FileGenerationChain;
 import com.discord.LocalAIDiscordAgent.objectMapper.MapperUtils;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
@@ -26,9 +27,10 @@ public class ImageGenerationChainService extends FileGenerationChain<ImageSettin
             MapperUtils mapperUtils,
             ImageGenerationPreparation preparation,
             LLMToolCalls LLMToolCalls,
-            ImageFileGeneration fileGeneration, ImageSettingsLLMGenerate llmGenerate
+            ImageFileGeneration fileGeneration, ImageSettingsLLMGenerate llmGenerate,
+            BlockingSchedulers schedulers
     ) {
-        super(mapperUtils, LLMToolCalls);
+        super(mapperUtils, LLMToolCalls, schedulers);
         this.preparation = preparation;
         this.fileGeneration = fileGeneration;
         this.llmGenerate = llmGenerate;
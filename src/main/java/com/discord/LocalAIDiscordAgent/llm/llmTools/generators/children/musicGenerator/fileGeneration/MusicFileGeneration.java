@@ -6,10 +6,10 @@ import com.discord.LocalAIDiscordAgent.comfyui.service.ComfyuiService;
 import com.discord.LocalAIDiscordAgent.llm.llmChains.data.PromptData;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.util.Map;
 import java.util.UUID;
@@ -19,15 +19,17 @@ public class MusicFileGeneration {
 
     private final ObjectMapper objectMapper;
     private final ComfyuiService comfyuiService;
+    private final BlockingSchedulers schedulers;
 
-    public MusicFileGeneration(ObjectMapper objectMapper, ComfyuiService comfyuiService) {
+    public MusicFileGeneration(ObjectMapper objectMapper, ComfyuiService comfyuiService, BlockingSchedulers schedulers) {
         this.objectMapper = objectMapper;
         this.comfyuiService = comfyuiService;
+        this.schedulers = schedulers;
     }
 
     public Mono<ComfyuiService.GeneratedFile> generateMusicFile(PromptData promptData) {
         return Mono.fromCallable(() -> buildWorkflow(promptData))
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(schedulers.http())
                 .flatMap(comfyuiService::runGenerationWorkflow)
                 .map(file -> withMusicFilename(file, promptData.getMusicSettings()));
     }
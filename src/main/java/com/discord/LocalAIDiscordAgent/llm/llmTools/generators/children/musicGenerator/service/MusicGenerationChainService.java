@@ -10,6 +10,7 @@ import com.discord.LocalAIDiscordAgent.llm.llmTools.generators.children.musicGen
 import com.discord.LocalAIDiscordAgent.llm.llmTools.generators.children.musicGenerator.preparation.MusicGenerationPreparation;
 import com.discord.LocalAIDiscordAgent.llm.llmTools.generators.parent.service.FileGenerationChain;
 import com.discord.LocalAIDiscordAgent.objectMapper.MapperUtils;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
@@ -25,9 +26,10 @@ public class MusicGenerationChainService extends FileGenerationChain<MusicSettin
     public MusicGenerationChainService(
             MapperUtils mapperUtils,
             MusicGenerationPreparation preparation,
-            LLMToolCalls LLMToolCalls, MusicSettingsLLMGenerate llmGeneration, MusicFileGeneration fileGeneration
+            LLMToolCalls LLMToolCalls, MusicSettingsLLMGenerate llmGeneration, MusicFileGeneration fileGeneration,
+            BlockingSchedulers schedulers
     ) {
-        super(mapperUtils, LLMToolCalls);
+        super(mapperUtils, LLMToolCalls, schedulers);
         this.preparation = preparation;
         this.llmGeneration = llmGeneration;
         this.fileGeneration = fileGeneration;
@@ -10,6 +10,7 @@ import com.discord.LocalAIDiscordAgent.llm.llmTools.generators.children.videoGen
 import com.discord.LocalAIDiscordAgent.llm.llmTools.generators.children.videoGenerator.preparation.VideoGenerationPreparation;
 import com.discord.LocalAIDiscordAgent.llm.llmTools.generators.parent.service.FileGenerationChain;
 import com.discord.LocalAIDiscordAgent.objectMapper.MapperUtils;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
@@ -25,9 +26,10 @@ public class VideoGenerationChainService extends FileGenerationChain<VideoSettin
     public VideoGenerationChainService(
             MapperUtils mapperUtils,
             VideoGenerationPreparation preparation,
-            LLMToolCalls LLMToolCalls, VideoFileGeneration fileGeneration, VideoSettingsLLMGenerate llmGenerate
+            LLMToolCalls LLMToolCalls, VideoFileGeneration fileGeneration, VideoSettingsLLMGenerate llmGenerate,
+            BlockingSchedulers schedulers
     ) {
-        super(mapperUtils, LLMToolCalls);
+        super(mapperUtils, LLMToolCalls, schedulers);
         this.preparation = preparation;
         this.fileGeneration = fileGeneration;
         this.llmGenerate = llmGenerate;
@@ -5,10 +5,10 @@ import com.discord.LocalAIDiscordAgent.discord.data.DiscGlobalData;
 import com.discord.LocalAIDiscordAgent.llm.llmChains.data.PromptData;
 import com.discord.LocalAIDiscordAgent.llm.llmChains.toolCalls.LLMToolCalls;
 import com.discord.LocalAIDiscordAgent.objectMapper.MapperUtils;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -16,6 +16,7 @@ public abstract class FileGenerationChain<T extends Record> {
 
     protected final MapperUtils mapperUtils;
     private final LLMToolCalls LLMToolCalls;
+    private final BlockingSchedulers schedulers;
 
     protected Mono<ComfyuiService.GeneratedFile> executeChain(
             DiscGlobalData discGlobalData,
@@ -33,7 +34,7 @@ public abstract class FileGenerationChain<T extends Record> {
 
                     return promptData;
                 })
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(schedulers.llm())
                 .flatMap(this::generateFile)
                 .doOnError(error -> log.error("Error generating {}", generationType, error));
     }
@@ -5,7 +5,6 @@ import com.discord.LocalAIDiscordAgent.llm.systemMessage.records.SystemMsgRecord
 import com.discord.LocalAIDiscordAgent.llm.llmTools.systemMessage.ToolSystemMsgFactory;
 import com.discord.LocalAIDiscordAgent.llm.llmTools.systemMessage.ToolSystemMsgPresets;
 import com.discord.LocalAIDiscordAgent.llm.llmTools.systemMessage.records.ToolSystemMsgRecords.ToolRuntimeContext;
-import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.service.WebSearchMemoryService;
 import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.tools.WebSearchTool;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -40,7 +39,7 @@ public class ToolService {
     private final ChatClient toolClient;
 //    private final ToolSummaryService toolSummaryService;
     private final ToolSystemMsgFactory toolSystemMsgFactory;
-    private final WebSearchMemoryService webSearchMemoryService;
+    private final WebSearchTool webSearchTool;
 
 //    private List<MergedWebQAItem> webQAResults;
     private RecentMessage recentAssistantMsg;
@@ -48,9 +47,9 @@ public class ToolService {
     public ToolService(
             ChatClient llmToolClient,
             ToolSystemMsgFactory toolSystemMsgFactory,
-            WebSearchMemoryService webSearchMemoryService
+            WebSearchTool webSearchTool
     ) {
-        this.webSearchMemoryService = webSearchMemoryService;
+        this.webSearchTool = webSearchTool;
         this.toolSystemMsgFactory = toolSystemMsgFactory;
 //        this.toolSummaryService = toolSummaryService;
         this.toolClient = llmToolClient;
@@ -93,7 +92,7 @@ public class ToolService {
 
     private Prompt buildToolPrompt(DiscGlobalData discGlobalData) {
         ChatOptions chatOptions = ToolCallingChatOptions.builder()
-                .toolCallbacks(ToolCallbacks.from(new WebSearchTool(webSearchMemoryService)))
+                .toolCallbacks(ToolCallbacks.from(webSearchTool))
                 .internalToolExecutionEnabled(false)
                 .build();
 
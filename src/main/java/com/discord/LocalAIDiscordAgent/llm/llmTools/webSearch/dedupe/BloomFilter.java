@@ -0,0 +1,63 @@
+package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.dedupe;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over hex content hashes. The hash is already uniform, so its first two 64-bit
+ * words drive double hashing directly instead of hashing it again.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashFunctions;
+
+    BloomFilter(long expectedEntries, double falsePositiveRate) {
+        long n = Math.max(1, expectedEntries);
+        double p = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64));
+        this.bits = (long) words.length() * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+    }
+
+    void put(String hexHash) {
+        long h1 = word(hexHash, 0);
+        long h2 = word(hexHash, 16);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            long current = words.get(index);
+            while ((current & mask) == 0 && !words.compareAndSet(index, current, current | mask)) {
+                current = words.get(index);
+            }
+        }
+    }
+
+    boolean mightContain(String hexHash) {
+        long h1 = word(hexHash, 0);
+        long h2 = word(hexHash, 16);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    long bits() {
+        return bits;
+    }
+
+    private static long word(String hex, int from) {
+        return Long.parseUnsignedLong(hex, from, from + 16, 16);
+    }
+}
@@ -0,0 +1,152 @@
+package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.dedupe;
+
+import com.discord.LocalAIDiscordAgent.memory.ragMemory.webQAMemory.repository.WebContentHashRepository;
+import com.discord.LocalAIDiscordAgent.memory.ragMemory.webQAMemory.repository.WebContentHashRepository.ContentHash;
+import com.discord.LocalAIDiscordAgent.metrics.MetricsSource;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Exact-duplicate check for web chunks, run before anything is embedded. Hashes live in a Postgres side
+ * table and in an in-memory Bloom filter loaded from it on startup: a Bloom miss proves the chunk is new
+ * without a query, and only Bloom hits are confirmed against the table. Until the filter has loaded, or
+ * when it is disabled, every hash is confirmed against the table.
+ */
+@Slf4j
+@Component
+public class ContentHashIndex implements MetricsSource {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final WebContentHashRepository repository;
+    private final boolean enabled;
+    private final BloomFilter bloomFilter;
+    private volatile boolean bloomLoaded;
+
+    private final AtomicLong bloomNegatives = new AtomicLong();
+    private final AtomicLong confirmedDuplicates = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    public ContentHashIndex(
+            WebContentHashRepository repository,
+            @Value("${web.dedupe.hash.enabled}") boolean enabled,
+            @Value("${web.dedupe.bloom.expected.entries}") long expectedEntries,
+            @Value("${web.dedupe.bloom.false.positive.rate}") double falsePositiveRate
+    ) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.bloomFilter = enabled ? new BloomFilter(expectedEntries, falsePositiveRate) : null;
+    }
+
+    @PostConstruct
+    void loadBloomFilter() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            AtomicLong loaded = new AtomicLong();
+            repository.forEachHash(hash -> {
+                bloomFilter.put(hash);
+                loaded.incrementAndGet();
+            });
+            bloomLoaded = true;
+            log.info("Loaded {} web content hashes into Bloom filter ({} bits, {} hash functions)",
+                    loaded.get(), bloomFilter.bits(), bloomFilter.hashFunctions());
+        } catch (Exception e) {
+            log.warn("Could not load web content hashes, confirming every hash against the table: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * SHA-1 of the text after Unicode normalization, lower-casing and whitespace collapsing, so chunks
+     * that differ only in spacing or case hash the same.
+     */
+    public static String hash(String text) {
+        String normalized = text == null ? "" : Normalizer.normalize(text, Normalizer.Form.NFKC);
+        normalized = WHITESPACE.matcher(normalized.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+
+    /**
+     * Returns the hashes that are already stored. Fails open: if the table cannot be queried, nothing is
+     * reported as known and the chunks go through vector dedupe as before.
+     */
+    public Set<String> findKnown(Collection<String> hashes) {
+        if (!enabled || hashes.isEmpty()) {
+            return Set.of();
+        }
+
+        List<String> candidates = new ArrayList<>(hashes.size());
+        for (String hash : hashes) {
+            if (!bloomLoaded || bloomFilter.mightContain(hash)) {
+                candidates.add(hash);
+            } else {
+                bloomNegatives.incrementAndGet();
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+
+        try {
+            Set<String> known = repository.findExisting(candidates);
+            confirmedDuplicates.addAndGet(known.size());
+            if (bloomLoaded) {
+                falsePositives.addAndGet(candidates.size() - known.size());
+            }
+            return known;
+        } catch (Exception e) {
+            log.debug("Content hash lookup failed, treating chunks as new. Reason: {}", e.getMessage());
+            return Set.of();
+        }
+    }
+
+    public void remember(List<ContentHash> hashes) {
+        if (!enabled || hashes.isEmpty()) {
+            return;
+        }
+
+        try {
+            repository.insertAll(hashes);
+            hashes.forEach(hash -> bloomFilter.put(hash.hash()));
+        } catch (Exception e) {
+            log.debug("Could not store {} content hashes: {}", hashes.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "web-content-hashes";
+    }
+
+    @Override
+    public ContentHashMetrics metrics() {
+        return new ContentHashMetrics(bloomLoaded, bloomNegatives.get(), confirmedDuplicates.get(), falsePositives.get());
+    }
+
+    public record ContentHashMetrics(boolean bloomLoaded, long bloomNegatives, long confirmedDuplicates, long falsePositives) {
+    }
+}
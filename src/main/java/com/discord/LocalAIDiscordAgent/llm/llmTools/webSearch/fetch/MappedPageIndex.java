@@ -0,0 +1,194 @@
+package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LRU index of the page cache in a memory-mapped file. Each slot holds the 32-byte SHA-256 key of a
+ * cached page, its last access time and its file size, so the recency order and the byte total are
+ * rebuilt from the file on startup without listing or reading the cached pages.
+ */
+final class MappedPageIndex implements AutoCloseable {
+
+    private static final int MAGIC = 0x50474931;
+    private static final int HEADER_BYTES = 16;
+    private static final int KEY_BYTES = 32;
+    private static final int SLOT_BYTES = KEY_BYTES + Long.BYTES + Long.BYTES;
+
+    private final int slots;
+    private final MappedByteBuffer buffer;
+    private final LinkedHashMap<String, Integer> lru = new LinkedHashMap<>(256, 0.75f, true);
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private long totalBytes;
+
+    private MappedPageIndex(Path path, int slots) throws IOException {
+        this.slots = slots;
+
+        long size = HEADER_BYTES + (long) slots * SLOT_BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Page cache index too large: " + size + " bytes");
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(size);
+            this.buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == slots) {
+            load();
+        } else {
+            reset();
+        }
+    }
+
+    static MappedPageIndex open(Path path, int slots) throws IOException {
+        return new MappedPageIndex(path, Math.max(1, slots));
+    }
+
+    synchronized boolean touch(String key) {
+        Integer slot = lru.get(key);
+        if (slot == null) {
+            return false;
+        }
+
+        buffer.putLong(offset(slot) + KEY_BYTES, System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * Records {@code key} as most recently used with the given size and returns the keys evicted to stay
+     * within {@code maxBytes} and the slot count; the caller deletes their files. The entry just put is
+     * never evicted.
+     */
+    synchronized List<String> put(String key, long bytes, long maxBytes) {
+        List<String> evicted = new ArrayList<>();
+
+        Integer slot = lru.get(key);
+        if (slot != null) {
+            totalBytes -= buffer.getLong(offset(slot) + KEY_BYTES + Long.BYTES);
+        } else {
+            if (freeSlots.isEmpty()) {
+                evictEldest(evicted);
+            }
+            slot = freeSlots.pop();
+        }
+
+        // the key goes in last, so a slot torn by a crash is read back as empty
+        int offset = offset(slot);
+        buffer.put(offset, new byte[KEY_BYTES]);
+        buffer.putLong(offset + KEY_BYTES, System.currentTimeMillis());
+        buffer.putLong(offset + KEY_BYTES + Long.BYTES, bytes);
+        buffer.put(offset, HexFormat.of().parseHex(key));
+
+        lru.put(key, slot);
+        totalBytes += bytes;
+
+        while (totalBytes > maxBytes && lru.size() > 1) {
+            evictEldest(evicted);
+        }
+        return evicted;
+    }
+
+    synchronized boolean contains(String key) {
+        return lru.containsKey(key);
+    }
+
+    synchronized void remove(String key) {
+        Integer slot = lru.remove(key);
+        if (slot != null) {
+            release(slot);
+        }
+    }
+
+    synchronized int size() {
+        return lru.size();
+    }
+
+    synchronized long bytes() {
+        return totalBytes;
+    }
+
+    @Override
+    public synchronized void close() {
+        buffer.force();
+    }
+
+    private void evictEldest(List<String> evicted) {
+        Iterator<Map.Entry<String, Integer>> eldest = lru.entrySet().iterator();
+        Map.Entry<String, Integer> entry = eldest.next();
+        eldest.remove();
+        release(entry.getValue());
+        evicted.add(entry.getKey());
+    }
+
+    private void release(int slot) {
+        int offset = offset(slot);
+        totalBytes -= buffer.getLong(offset + KEY_BYTES + Long.BYTES);
+        buffer.put(offset, new byte[KEY_BYTES]);
+        freeSlots.push(slot);
+    }
+
+    private void load() {
+        record Used(String key, int slot, long lastAccess) {
+        }
+
+        List<Used> used = new ArrayList<>();
+        byte[] key = new byte[KEY_BYTES];
+        for (int slot = 0; slot < slots; slot++) {
+            int offset = offset(slot);
+            buffer.get(offset, key);
+            if (isEmpty(key)) {
+                freeSlots.push(slot);
+                continue;
+            }
+            used.add(new Used(HexFormat.of().formatHex(key), slot, buffer.getLong(offset + KEY_BYTES)));
+            totalBytes += buffer.getLong(offset + KEY_BYTES + Long.BYTES);
+        }
+
+        used.sort(Comparator.comparingLong(Used::lastAccess));
+        for (Used entry : used) {
+            lru.put(entry.key(), entry.slot());
+        }
+    }
+
+    private void reset() {
+        byte[] empty = new byte[KEY_BYTES];
+        for (int slot = slots - 1; slot >= 0; slot--) {
+            buffer.put(offset(slot), empty);
+            freeSlots.push(slot);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, slots);
+        totalBytes = 0;
+    }
+
+    private int offset(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    private static boolean isEmpty(byte[] key) {
+        for (byte b : key) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
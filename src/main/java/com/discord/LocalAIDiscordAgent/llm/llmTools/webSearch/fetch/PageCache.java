@@ -0,0 +1,180 @@
+package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Disk cache of extracted page text, one JSON file per normalized URL, named by the SHA-256 of the URL.
+ * Recency and sizes are tracked in a {@link MappedPageIndex}; the least recently used pages are deleted
+ * once the cache holds more than {@code maxBytes} or {@code maxEntries}. If the index cannot be opened
+ * the cache stays disabled and every lookup misses. Page files without an index slot, left by an index
+ * reset or by a crash between writing a page and indexing it, are deleted when the cache opens.
+ */
+@Slf4j
+@Component
+public class PageCache implements AutoCloseable {
+
+    private static final String INDEX_FILE = "index.bin";
+    private static final String PAGE_SUFFIX = ".json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path dir;
+    private final long maxBytes;
+    private final MappedPageIndex index;
+
+    public PageCache(
+            @Value("${web.page.cache.enabled}") boolean enabled,
+            @Value("${web.page.cache.dir}") String dir,
+            @Value("${web.page.cache.max.bytes}") long maxBytes,
+            @Value("${web.page.cache.max.entries}") int maxEntries
+    ) {
+        this.dir = Path.of(dir);
+        this.maxBytes = Math.max(1, maxBytes);
+        this.index = enabled ? openIndex(this.dir.resolve(INDEX_FILE), maxEntries) : null;
+        if (index != null) {
+            deleteOrphans();
+        }
+    }
+
+    /**
+     * Returns the cached page for a normalized URL, fresh or not, or null.
+     */
+    public CachedPage get(String normalizedUrl) {
+        if (index == null) {
+            return null;
+        }
+
+        String key = key(normalizedUrl);
+        if (!index.touch(key)) {
+            return null;
+        }
+
+        try {
+            return objectMapper.readValue(file(key).toFile(), CachedPage.class);
+        } catch (IOException e) {
+            log.debug("Dropping unreadable page cache entry for {}: {}", normalizedUrl, e.getMessage());
+            index.remove(key);
+            return null;
+        }
+    }
+
+    public void put(String normalizedUrl, CachedPage page) {
+        if (index == null) {
+            return;
+        }
+
+        String key = key(normalizedUrl);
+        try {
+            Files.createDirectories(dir);
+            byte[] json = objectMapper.writeValueAsBytes(page);
+            Path tmp = Files.createTempFile(dir, key, ".tmp");
+            Files.write(tmp, json);
+            Files.move(tmp, file(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            for (String evicted : index.put(key, json.length, maxBytes)) {
+                Files.deleteIfExists(file(evicted));
+            }
+        } catch (IOException e) {
+            log.debug("Could not cache page {}: {}", normalizedUrl, e.getMessage());
+        }
+    }
+
+    public int size() {
+        return index == null ? 0 : index.size();
+    }
+
+    public long bytes() {
+        return index == null ? 0 : index.bytes();
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    private void deleteOrphans() {
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*{" + PAGE_SUFFIX + ",.tmp}")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(PAGE_SUFFIX) && index.contains(name.substring(0, name.length() - PAGE_SUFFIX.length()))) {
+                    continue;
+                }
+                Files.deleteIfExists(file);
+                deleted++;
+            }
+        } catch (IOException e) {
+            log.debug("Could not clean up page cache directory {}: {}", dir, e.getMessage());
+        }
+
+        if (deleted > 0) {
+            log.info("Deleted {} unindexed page cache files from {}", deleted, dir);
+        }
+    }
+
+    private Path file(String key) {
+        return dir.resolve(key + PAGE_SUFFIX);
+    }
+
+    private static MappedPageIndex openIndex(Path path, int maxEntries) {
+        try {
+            return MappedPageIndex.open(path, maxEntries);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Page cache index at {} unavailable, page cache disabled: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String key(String normalizedUrl) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalizedUrl.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Extracted text of a page plus what is needed to revalidate it: the validators of the last 200 or 304
+     * response and the time until which it may be served without asking the server.
+     */
+    public record CachedPage(
+            String url,
+            String contentType,
+            String title,
+            String description,
+            String text,
+            String etag,
+            String lastModified,
+            long expiresAt
+    ) {
+        public CachedPage revalidated(String etag, String lastModified, long expiresAt) {
+            return new CachedPage(
+                    url,
+                    contentType,
+                    title,
+                    description,
+                    text,
+                    etag == null ? this.etag : etag,
+                    lastModified == null ? this.lastModified : lastModified,
+                    expiresAt
+            );
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch;
+
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.utils.NetUtil;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fetches web pages on one shared JDK HttpClient, so fetches reuse pooled connections and run
+ * concurrently without holding a thread while waiting on the network. Redirects are followed manually,
+ * and every hop is checked against the SSRF rules in {@link NetUtil}. Bodies are capped at
+ * {@code MAX_BODY_BYTES}; the rest of the response is cancelled, not read.
+ */
+@Component
+public class PageFetcher {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration PAGE_TIMEOUT = Duration.ofSeconds(15);
+    private static final int MAX_BODY_BYTES = 1_000_000;
+    private static final int MAX_REDIRECTS = 5;
+    private static final Pattern CHARSET = Pattern.compile("(?i)charset=\"?([^;\"\\s]+)");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    public CompletableFuture<FetchedPage> fetch(String url) {
+        return fetch(url, Map.of());
+    }
+
+    /**
+     * {@code headers} are sent on every hop, e.g. the validators of a conditional GET.
+     */
+    public CompletableFuture<FetchedPage> fetch(String url, Map<String, String> headers) {
+        return fetchHop(url, headers, 0);
+    }
+
+    private CompletableFuture<FetchedPage> fetchHop(String current, Map<String, String> headers, int hop) {
+        if (hop > MAX_REDIRECTS) {
+            return CompletableFuture.failedFuture(new IOException("Too many redirects (limit=" + MAX_REDIRECTS + ")"));
+        }
+
+        if (!NetUtil.isSafeHttpUrl(current)) {
+            return CompletableFuture.failedFuture(new UnsafeUrlException(current));
+        }
+
+        HttpRequest request;
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(current))
+                    .timeout(PAGE_TIMEOUT)
+                    .header("User-Agent", NetUtil.commonUserAgent())
+                    .header("Accept-Language", "en-US,en;q=0.9")
+                    .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,text/plain;q=0.8,*/*;q=0.7");
+            headers.forEach(builder::header);
+            request = builder.GET().build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new IOException("Invalid URL: " + current, e));
+        }
+
+        return httpClient.sendAsync(request, info -> new LimitedBodySubscriber(MAX_BODY_BYTES))
+                .thenCompose(response -> {
+                    String next = redirectTargetOrNull(response);
+                    if (next != null) {
+                        return fetchHop(next, headers, hop + 1);
+                    }
+
+                    String contentType = response.headers().firstValue("Content-Type").orElse(null);
+                    return CompletableFuture.completedFuture(new FetchedPage(
+                            response.uri().toString(),
+                            response.statusCode(),
+                            contentType,
+                            charsetOrNull(contentType),
+                            response.headers(),
+                            response.body()
+                    ));
+                });
+    }
+
+    private static String redirectTargetOrNull(HttpResponse<?> response) {
+        int status = response.statusCode();
+        if (status < 300 || status >= 400) {
+            return null;
+        }
+
+        return response.headers().firstValue("Location")
+                .filter(location -> !location.isBlank())
+                .map(location -> response.uri().resolve(location.trim()).toString())
+                .orElse(null);
+    }
+
+    private static Charset charsetOrNull(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+
+        Matcher matcher = CHARSET.matcher(contentType);
+        if (!matcher.find()) {
+            return null;
+        }
+
+        try {
+            return Charset.forName(matcher.group(1).toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Final response after redirects. {@code charset} is null when the server did not declare one, in
+     * which case the HTML parser detects it from the document.
+     */
+    public record FetchedPage(
+            String url,
+            int status,
+            String contentType,
+            Charset charset,
+            HttpHeaders headers,
+            byte[] body
+    ) {
+    }
+
+    public static class UnsafeUrlException extends IOException {
+
+        private final String url;
+
+        public UnsafeUrlException(String url) {
+            super("Unsafe URL (SSRF blocked): " + url);
+            this.url = url;
+        }
+
+        public String url() {
+            return url;
+        }
+    }
+
+    /**
+     * Collects at most {@code limit} bytes, then cancels the subscription so the rest of the body is
+     * never transferred.
+     */
+    private static final class LimitedBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+        private final int limit;
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        private byte[] buffer = new byte[8192];
+        private int size;
+        private Flow.Subscription subscription;
+
+        private LimitedBodySubscriber(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (result.isDone()) {
+                return;
+            }
+
+            for (ByteBuffer item : items) {
+                int take = Math.min(item.remaining(), limit - size);
+                ensureCapacity(size + take);
+                item.get(buffer, size, take);
+                size += take;
+
+                if (size >= limit) {
+                    subscription.cancel();
+                    complete();
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            complete();
+        }
+
+        private void complete() {
+            byte[] body = new byte[size];
+            System.arraycopy(buffer, 0, body, 0, size);
+            result.complete(body);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buffer.length) {
+                byte[] grown = new byte[Math.max(capacity, Math.min(limit, buffer.length * 2))];
+                System.arraycopy(buffer, 0, grown, 0, size);
+                buffer = grown;
+            }
+        }
+    }
+}
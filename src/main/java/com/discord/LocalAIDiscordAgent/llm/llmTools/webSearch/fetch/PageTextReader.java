@@ -0,0 +1,293 @@
+package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch;
+
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch.PageCache.CachedPage;
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch.PageFetcher.FetchedPage;
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.utils.DocumentExtractionUtils;
+import com.discord.LocalAIDiscordAgent.metrics.MetricsSource;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the main text of a page through the {@link PageCache}. A fresh entry is served from disk without
+ * touching the network; a stale one is revalidated with If-None-Match / If-Modified-Since, and a 304 only
+ * extends its lifetime. Freshness follows Cache-Control max-age, then Expires, then 10% of the age since
+ * Last-Modified, capped at the default TTL. Only 200 responses without no-store are cached. Parsing and
+ * cache writes run on the {@link BlockingSchedulers#http()} scheduler, not on the HttpClient's threads.
+ */
+@Slf4j
+@Component
+public class PageTextReader implements MetricsSource {
+
+    private static final int MAX_STORED_TEXT_CHARS = 20_000;
+    private static final long MAX_TTL_SECONDS = TimeUnit.DAYS.toSeconds(365);
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])max-age\\s*=\\s*\"?(\\d+)");
+
+    private static final Set<String> NON_HTML_CONTENT_TYPES = Set.of(
+            "application/pdf",
+            "application/zip",
+            "application/octet-stream",
+            "image/",
+            "audio/",
+            "video/"
+    );
+
+    private final PageFetcher pageFetcher;
+    private final PageCache pageCache;
+    private final BlockingSchedulers schedulers;
+    private final long defaultTtlMillis;
+
+    private final AtomicLong freshHits = new AtomicLong();
+    private final AtomicLong revalidated = new AtomicLong();
+    private final AtomicLong fetched = new AtomicLong();
+
+    public PageTextReader(
+            PageFetcher pageFetcher,
+            PageCache pageCache,
+            BlockingSchedulers schedulers,
+            @Value("${web.page.cache.default.ttl.seconds}") long defaultTtlSeconds
+    ) {
+        this.pageFetcher = pageFetcher;
+        this.pageCache = pageCache;
+        this.schedulers = schedulers;
+        this.defaultTtlMillis = TimeUnit.SECONDS.toMillis(Math.max(0, defaultTtlSeconds));
+    }
+
+    public CompletableFuture<PageText> read(String url) {
+        String cacheKey = normalizeUrl(url);
+        CachedPage cached = pageCache.get(cacheKey);
+        long now = System.currentTimeMillis();
+
+        if (cached != null && now < cached.expiresAt()) {
+            freshHits.incrementAndGet();
+            return CompletableFuture.completedFuture(toPageText(cached));
+        }
+
+        return pageFetcher.fetch(url, cached == null ? Map.of() : validators(cached))
+                .thenApplyAsync(page -> {
+                    if (page.status() == 304 && cached != null) {
+                        revalidated.incrementAndGet();
+                        CachedPage refreshed = cached.revalidated(
+                                page.headers().firstValue("ETag").orElse(null),
+                                page.headers().firstValue("Last-Modified").orElse(null),
+                                expiresAt(page.headers(), now)
+                        );
+                        pageCache.put(cacheKey, refreshed);
+                        return toPageText(refreshed);
+                    }
+
+                    fetched.incrementAndGet();
+                    PageText text = extract(page);
+                    if (page.status() == 200 && isCacheable(page.headers())) {
+                        pageCache.put(cacheKey, new CachedPage(
+                                text.url(),
+                                text.contentType(),
+                                text.title(),
+                                text.description(),
+                                text.text(),
+                                page.headers().firstValue("ETag").orElse(null),
+                                page.headers().firstValue("Last-Modified").orElse(null),
+                                expiresAt(page.headers(), now)
+                        ));
+                    }
+                    return text;
+                }, task -> schedulers.http().schedule(task));
+    }
+
+    @Override
+    public String metricsName() {
+        return "page-cache";
+    }
+
+    @Override
+    public PageCacheMetrics metrics() {
+        return new PageCacheMetrics(freshHits.get(), revalidated.get(), fetched.get(), pageCache.size(), pageCache.bytes());
+    }
+
+    public static boolean isHtmlOrPlainText(String contentType) {
+        if (contentType == null || contentType.isBlank()) return true;
+        String ct = contentType.toLowerCase(Locale.ROOT);
+
+        if (ct.contains("text/html") || ct.contains("application/xhtml+xml")) return true;
+        if (ct.contains("text/plain")) return true;
+
+        for (String bad : NON_HTML_CONTENT_TYPES) {
+            if (ct.startsWith(bad)) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Cache key: lower-case scheme and host, no default port, no fragment, "/" for an empty path.
+     */
+    static String normalizeUrl(String url) {
+        String trimmed = DocumentExtractionUtils.safeTrim(url);
+        try {
+            URI uri = URI.create(trimmed);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return trimmed;
+            }
+
+            String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            boolean defaultPort = port == -1
+                    || (port == 80 && scheme.equals("http"))
+                    || (port == 443 && scheme.equals("https"));
+
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT)
+                    + (defaultPort ? "" : ":" + port)
+                    + path
+                    + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+        } catch (IllegalArgumentException e) {
+            return trimmed;
+        }
+    }
+
+    private PageText extract(FetchedPage page) {
+        String contentType = page.contentType();
+        String resolvedUrl = page.url();
+
+        if (page.status() >= 300 || !isHtmlOrPlainText(contentType)) {
+            return new PageText(resolvedUrl, page.status(), contentType, "", "", "", false);
+        }
+
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("text/plain")) {
+            String body = new String(page.body(), page.charset() == null ? StandardCharsets.UTF_8 : page.charset());
+            String text = DocumentExtractionUtils.normalizeWhitespace(DocumentExtractionUtils.safeTrim(body));
+            return new PageText(resolvedUrl, page.status(), contentType, "", "", clip(text), false);
+        }
+
+        Document doc;
+        try {
+            doc = Jsoup.parse(
+                    new ByteArrayInputStream(page.body()),
+                    page.charset() == null ? null : page.charset().name(),
+                    resolvedUrl
+            );
+        } catch (IOException e) {
+            log.debug("Could not parse {}: {}", resolvedUrl, e.getMessage());
+            return new PageText(resolvedUrl, page.status(), contentType, "", "", "", false);
+        }
+        DocumentExtractionUtils.removeBoilerplate(doc);
+
+        return new PageText(
+                resolvedUrl,
+                page.status(),
+                contentType,
+                DocumentExtractionUtils.safeTrim(doc.title()),
+                DocumentExtractionUtils.safeTrim(DocumentExtractionUtils.extractDescription(doc)),
+                clip(DocumentExtractionUtils.extractMainText(doc)),
+                false
+        );
+    }
+
+    private long expiresAt(HttpHeaders headers, long now) {
+        String cacheControl = headers.firstValue("Cache-Control").orElse("").toLowerCase(Locale.ROOT);
+        if (cacheControl.contains("no-cache")) {
+            return now;
+        }
+
+        Matcher maxAge = MAX_AGE.matcher(cacheControl);
+        if (maxAge.find()) {
+            try {
+                return now + TimeUnit.SECONDS.toMillis(Math.min(Long.parseLong(maxAge.group(1)), MAX_TTL_SECONDS));
+            } catch (NumberFormatException e) {
+                return now + TimeUnit.SECONDS.toMillis(MAX_TTL_SECONDS);
+            }
+        }
+
+        String expiresHeader = headers.firstValue("Expires").orElse(null);
+        if (expiresHeader != null) {
+            // an unparseable Expires, such as "0", means already expired
+            Long expires = httpDateOrNull(expiresHeader);
+            return expires == null ? now : Math.max(now, expires);
+        }
+
+        Long lastModified = httpDateOrNull(headers.firstValue("Last-Modified").orElse(null));
+        if (lastModified != null && lastModified < now) {
+            return now + Math.min((now - lastModified) / 10, defaultTtlMillis);
+        }
+
+        return now + defaultTtlMillis;
+    }
+
+    private static boolean isCacheable(HttpHeaders headers) {
+        return !headers.firstValue("Cache-Control").orElse("").toLowerCase(Locale.ROOT).contains("no-store");
+    }
+
+    private static Map<String, String> validators(CachedPage cached) {
+        Map<String, String> headers = new HashMap<>();
+        if (cached.etag() != null) headers.put("If-None-Match", cached.etag());
+        if (cached.lastModified() != null) headers.put("If-Modified-Since", cached.lastModified());
+        return headers;
+    }
+
+    private static PageText toPageText(CachedPage cached) {
+        return new PageText(
+                cached.url(),
+                200,
+                cached.contentType(),
+                cached.title(),
+                cached.description(),
+                cached.text(),
+                true
+        );
+    }
+
+    private static Long httpDateOrNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String clip(String text) {
+        return text.length() <= MAX_STORED_TEXT_CHARS ? text : text.substring(0, MAX_STORED_TEXT_CHARS);
+    }
+
+    /**
+     * Extracted page content; {@code text} is the main text without title or description, up to
+     * {@code MAX_STORED_TEXT_CHARS}. Empty for error statuses and non-text content types.
+     */
+    public record PageText(
+            String url,
+            int status,
+            String contentType,
+            String title,
+            String description,
+            String text,
+            boolean cached
+    ) {
+    }
+
+    public record PageCacheMetrics(long freshHits, long revalidated, long fetched, int entries, long bytes) {
+    }
+}
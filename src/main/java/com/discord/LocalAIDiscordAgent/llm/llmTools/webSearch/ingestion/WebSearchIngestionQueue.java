@@ -0,0 +1,338 @@
+package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.ingestion;
+
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.service.WebSearchMemoryService;
+import com.discord.LocalAIDiscordAgent.metrics.MetricsSource;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Takes web tool results off the reply path: tools only enqueue the JSON, and a background drain ingests
+ * up to {@code batchSize} results per {@link WebSearchMemoryService#saveWebSearchResults} call.
+ * When the in-memory queue is full, results are appended to a spill file instead and read back once the
+ * queue has room; the spill file is capped, and only results that fit neither are dropped. A batch that
+ * fails is queued again, up to {@code MAX_INGEST_ATTEMPTS} tries per result. On shutdown the queue, and
+ * the batch still being ingested if it does not finish in time, is written to the spill file, so pending
+ * results are ingested after the next start.
+ */
+@Slf4j
+@Component
+public class WebSearchIngestionQueue implements MetricsSource {
+
+    private static final int MAX_INGEST_ATTEMPTS = 3;
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
+
+    private final WebSearchMemoryService webSearchMemoryService;
+    private final BlockingSchedulers schedulers;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Path spillPath;
+    private final long spillMaxBytes;
+
+    private final BlockingQueue<Pending> queue;
+    private final Object spillLock = new Object();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private volatile List<Pending> inFlight = List.of();
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong ingested = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private Disposable drainer;
+
+    public WebSearchIngestionQueue(
+            WebSearchMemoryService webSearchMemoryService,
+            BlockingSchedulers schedulers,
+            @Value("${web.ingestion.queue.capacity}") int capacity,
+            @Value("${web.ingestion.batch.size}") int batchSize,
+            @Value("${web.ingestion.flush.interval.millis}") long flushIntervalMillis,
+            @Value("${web.ingestion.spill.path}") String spillPath,
+            @Value("${web.ingestion.spill.max.bytes}") long spillMaxBytes
+    ) {
+        this.webSearchMemoryService = webSearchMemoryService;
+        this.schedulers = schedulers;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(10, flushIntervalMillis);
+        this.spillPath = Path.of(spillPath);
+        this.spillMaxBytes = spillMaxBytes;
+    }
+
+    @PostConstruct
+    void startDrainer() {
+        refillFromSpill();
+        drainer = schedulers.database().schedulePeriodically(
+                this::drain,
+                flushIntervalMillis,
+                flushIntervalMillis,
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    @PreDestroy
+    void stopDrainer() {
+        if (drainer != null) {
+            drainer.dispose();
+        }
+
+        List<Pending> remaining = new ArrayList<>();
+        boolean drainFinished = awaitDrain();
+        try {
+            if (!drainFinished) {
+                // may be ingested twice if the drain still completes; the content-hash check skips the repeat
+                remaining.addAll(inFlight);
+            }
+            queue.drainTo(remaining);
+            spill(remaining);
+        } finally {
+            if (drainFinished) {
+                drainLock.unlock();
+            }
+        }
+        log.info("Web ingestion queue stopped, {} pending results kept in {}", remaining.size(), spillPath);
+    }
+
+    /**
+     * Never blocks the caller: queues the result, spills it if the queue is full, or drops it if the spill
+     * file is full too.
+     */
+    public void submit(String json) {
+        if (json == null || json.isBlank()) {
+            return;
+        }
+
+        enqueued.incrementAndGet();
+        Pending pending = new Pending(json, System.currentTimeMillis(), 0);
+        if (!queue.offer(pending)) {
+            spill(List.of(pending));
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "web-ingestion";
+    }
+
+    @Override
+    public IngestionMetrics metrics() {
+        Pending oldest = queue.peek();
+        long lagMillis = oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest.enqueuedAt());
+
+        long spillBytes;
+        synchronized (spillLock) {
+            spillBytes = spillSize();
+        }
+
+        return new IngestionMetrics(
+                queue.size(),
+                spillBytes,
+                lagMillis,
+                enqueued.get(),
+                spilled.get(),
+                ingested.get(),
+                dropped.get(),
+                failed.get()
+        );
+    }
+
+    void drain() {
+        drainLock.lock();
+        try {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            queue.drainTo(batch, batchSize);
+
+            if (!batch.isEmpty()) {
+                inFlight = batch;
+                try {
+                    webSearchMemoryService.saveWebSearchResults(batch.stream().map(Pending::json).toList());
+                    ingested.addAndGet(batch.size());
+                } catch (Exception e) {
+                    log.warn("Failed to ingest {} web results: {}", batch.size(), e.getMessage());
+                    requeueOrDrop(batch);
+                } finally {
+                    inFlight = List.of();
+                }
+            }
+
+            if (queue.isEmpty()) {
+                refillFromSpill();
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void requeueOrDrop(List<Pending> batch) {
+        List<Pending> overflow = new ArrayList<>();
+        for (Pending pending : batch) {
+            if (pending.attempts() + 1 >= MAX_INGEST_ATTEMPTS) {
+                failed.incrementAndGet();
+                continue;
+            }
+
+            Pending retried = pending.retried();
+            if (!queue.offer(retried)) {
+                overflow.add(retried);
+            }
+        }
+        spill(overflow);
+    }
+
+    /**
+     * Waits for a running drain so its batch is not lost; true if the drain lock is now held.
+     */
+    private boolean awaitDrain() {
+        try {
+            if (drainLock.tryLock(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        log.warn("Web ingestion drain still running after {}s, spilling its batch", SHUTDOWN_WAIT_SECONDS);
+        return false;
+    }
+
+    /**
+     * One line per result: enqueue time in epoch millis, a tab, and the Base64 JSON, so lag is still
+     * measured from the original submit after a restart. Attempts are not kept; a spilled result gets a
+     * fresh set of tries.
+     */
+    private void spill(Collection<Pending> pendings) {
+        if (pendings.isEmpty()) {
+            return;
+        }
+
+        synchronized (spillLock) {
+            long size = spillSize();
+            try {
+                if (spillPath.getParent() != null) {
+                    Files.createDirectories(spillPath.getParent());
+                }
+
+                try (BufferedWriter writer = Files.newBufferedWriter(
+                        spillPath,
+                        StandardCharsets.US_ASCII,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND
+                )) {
+                    for (Pending pending : pendings) {
+                        String line = pending.enqueuedAt() + "\t"
+                                + Base64.getEncoder().encodeToString(pending.json().getBytes(StandardCharsets.UTF_8));
+                        if (size + line.length() + 1 > spillMaxBytes) {
+                            dropped.incrementAndGet();
+                            continue;
+                        }
+                        writer.write(line);
+                        writer.newLine();
+                        size += line.length() + 1;
+                        spilled.incrementAndGet();
+                    }
+                }
+            } catch (IOException e) {
+                dropped.addAndGet(pendings.size());
+                log.warn("Could not spill {} web results to {}: {}", pendings.size(), spillPath, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Moves spilled results back into the queue; whatever does not fit is written back to the file.
+     */
+    private void refillFromSpill() {
+        List<String> lines;
+        synchronized (spillLock) {
+            if (spillSize() == 0) {
+                return;
+            }
+
+            try {
+                lines = Files.readAllLines(spillPath, StandardCharsets.US_ASCII);
+                Files.delete(spillPath);
+            } catch (IOException e) {
+                log.warn("Could not read web ingestion spill file {}: {}", spillPath, e.getMessage());
+                return;
+            }
+        }
+
+        List<Pending> overflow = new ArrayList<>();
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+
+            Pending pending;
+            try {
+                int tab = line.indexOf('\t');
+                pending = new Pending(
+                        new String(Base64.getDecoder().decode(line.substring(tab + 1)), StandardCharsets.UTF_8),
+                        Long.parseLong(line.substring(0, tab)),
+                        0
+                );
+            } catch (RuntimeException e) {
+                dropped.incrementAndGet();
+                continue;
+            }
+
+            if (!queue.offer(pending)) {
+                overflow.add(pending);
+            }
+        }
+
+        spill(overflow);
+    }
+
+    private long spillSize() {
+        try {
+            return Files.exists(spillPath) ? Files.size(spillPath) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private record Pending(String json, long enqueuedAt, int attempts) {
+        Pending retried() {
+            return new Pending(json, enqueuedAt, attempts + 1);
+        }
+    }
+
+    /**
+     * {@code lagMillis} is the age of the oldest queued result; {@code spilled} counts writes to the spill
+     * file, so a result that is read back and spilled again counts twice; {@code failed} counts results
+     * dropped after {@code MAX_INGEST_ATTEMPTS} failed ingests.
+     */
+    public record IngestionMetrics(
+            int queued,
+            long spillBytes,
+            long lagMillis,
+            long enqueued,
+            long spilled,
+            long ingested,
+            long dropped,
+            long failed
+    ) {
+    }
+}
@@ -1,14 +1,17 @@
 package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.service;
 
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.dedupe.ContentHashIndex;
 import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.helpers.WebSearchChunkMerger;
 import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.records.WebSearchRecords.WebQAMemory;
+import com.discord.LocalAIDiscordAgent.memory.ragMemory.webQAMemory.repository.WebContentHashRepository.ContentHash;
+import com.discord.LocalAIDiscordAgent.memory.ragMemory.webQAMemory.repository.WebQAVectorRepository;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.document.DocumentReader;
 import org.springframework.ai.document.DocumentTransformer;
-import org.springframework.ai.document.DocumentWriter;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.transformer.splitter.TokenTextSplitter;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
@@ -46,8 +49,8 @@ public class WebSearchMemoryService {
     private static final int SEARCH_TOP_K = 3;
     private static final double RETRIEVAL_SIMILARITY_THRESHOLD = .75;
 
-    private static final int DEDUPE_TOP_K = 3;
     private static final double DEDUPE_SIMILARITY_THRESHOLD = 0.90;
+    private static final double DEDUPE_MAX_DISTANCE = 1 - DEDUPE_SIMILARITY_THRESHOLD;
 
     private static final int CHUNK_SIZE_TOKENS = 200;
     private static final int MIN_CHUNK_SIZE_CHARS = 100;
@@ -60,14 +63,23 @@ public class WebSearchMemoryService {
 
     private final VectorStore vectorStore;
     private final DocumentTransformer splitter;
-    private final DocumentWriter writer;
+    private final EmbeddingModel embeddingModel;
+    private final WebQAVectorRepository vectorRepository;
+    private final ContentHashIndex contentHashIndex;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
 
-    public WebSearchMemoryService(VectorStore vectorStoreWebQAMemory) {
+    public WebSearchMemoryService(
+            VectorStore vectorStoreWebQAMemory,
+            EmbeddingModel embeddingModel,
+            WebQAVectorRepository vectorRepository,
+            ContentHashIndex contentHashIndex
+    ) {
         this.vectorStore = vectorStoreWebQAMemory;
-        this.writer = vectorStoreWebQAMemory;
+        this.embeddingModel = embeddingModel;
+        this.vectorRepository = vectorRepository;
+        this.contentHashIndex = contentHashIndex;
 
         this.splitter = TokenTextSplitter.builder()
                 .withChunkSize(CHUNK_SIZE_TOKENS)
@@ -119,48 +131,125 @@ public class WebSearchMemoryService {
     }
 
     /**
-     * Ingests tool output into the vector store.
-     * Supported:
-     * - JSON SEARCH_RESULTS (preferred)
+     * Ingests tool output (JSON SEARCH_RESULTS) into the vector store. Several outputs are handled as one
+     * batch: one embedding call and one dedupe query for all of them.
      */
-    public void saveWebSearchResult(String webSearchResult) {
-        if (webSearchResult == null || webSearchResult.isBlank()) {
-            log.debug("Empty web search result, skipping save");
-            return;
+    public void saveWebSearchResults(List<String> webSearchResults) {
+        List<WebSearchData> parsed = new ArrayList<>();
+        for (String webSearchResult : webSearchResults) {
+            if (webSearchResult == null || webSearchResult.isBlank()) {
+                log.debug("Empty web search result, skipping save");
+                continue;
+            }
+            parsed.addAll(parse(webSearchResult));
         }
 
-        List<WebSearchData> parsed = parse(webSearchResult);
         if (parsed.isEmpty()) {
             log.debug("No parsable web results found, skipping save");
             return;
         }
 
-        int ingested = 0;
+        List<List<Document>> pages = new ArrayList<>();
         for (WebSearchData data : parsed) {
             if (!data.isOk() || data.content().isBlank() || data.resolvedUrl().isBlank()) continue;
-            ingest(data);
-            ingested++;
+            List<Document> chunks = split(data);
+            if (!chunks.isEmpty()) pages.add(chunks);
         }
 
-        log.debug("Ingested {} web search items into tier={}", ingested, TIER_WEB_SEARCH);
+        int stored = ingest(pages);
+        log.debug("Ingested {} web search items ({} new chunks) into tier={}", pages.size(), stored, TIER_WEB_SEARCH);
     }
 
     // -----------------------------
     // ETL pipeline
     // -----------------------------
 
-    private void ingest(WebSearchData data) {
+    private List<Document> split(WebSearchData data) {
         if (isAdvertisementUrl(data.resolvedUrl()) || isAdvertisementUrl(data.inputUrl())) {
             log.debug("Skipping advertisement URL: {}", data.resolvedUrl());
-            return;
+            return List.of();
         }
 
         DocumentReader reader = () -> List.of(buildSourceDocument(data));
         List<Document> docs = reader.read();
-        List<Document> splitDocs = splitter.apply(docs);
-        List<Document> ready = dedupeAndIndex(splitDocs, data.resolvedUrl());
 
-        if (!ready.isEmpty()) writer.write(ready);
+        List<Document> chunks = new ArrayList<>();
+        for (Document chunk : splitter.apply(docs)) {
+            if (chunk.getText() != null && !chunk.getText().isBlank()) chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Drops exact repeats by content hash first, then embeds the remaining chunks of every page in one
+     * batch, checks them against stored chunks in one query, and inserts the survivors with the same vectors.
+     */
+    private int ingest(List<List<Document>> pages) {
+        List<List<String>> pageHashes = new ArrayList<>(pages.size());
+        Set<String> allHashes = new HashSet<>();
+        for (List<Document> page : pages) {
+            List<String> hashes = new ArrayList<>(page.size());
+            for (Document chunk : page) hashes.add(ContentHashIndex.hash(chunk.getText()));
+            pageHashes.add(hashes);
+            allHashes.addAll(hashes);
+        }
+        if (allHashes.isEmpty()) return 0;
+
+        // exact repeats, stored earlier or earlier in this batch, are never embedded
+        Set<String> seen = new HashSet<>(contentHashIndex.findKnown(allHashes));
+        List<List<Document>> freshPages = new ArrayList<>(pages.size());
+        List<ContentHash> freshHashes = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+
+        for (int p = 0; p < pages.size(); p++) {
+            List<Document> page = pages.get(p);
+            List<Document> fresh = new ArrayList<>(page.size());
+            for (int i = 0; i < page.size(); i++) {
+                String hash = pageHashes.get(p).get(i);
+                if (!seen.add(hash)) continue;
+
+                Document chunk = page.get(i);
+                fresh.add(chunk);
+                freshHashes.add(new ContentHash(hash, String.valueOf(chunk.getMetadata().get("url")), i));
+                texts.add(chunk.getText());
+            }
+            freshPages.add(fresh);
+        }
+
+        int exactRepeats = pages.stream().mapToInt(List::size).sum() - texts.size();
+        if (exactRepeats > 0) log.debug("Skipped {} exact-repeat web chunks before embedding", exactRepeats);
+        if (texts.isEmpty()) return 0;
+
+        List<float[]> vectors = embeddingModel.embed(texts);
+        double[] storedDistances = nearestStoredDistances(vectors);
+
+        List<Document> ready = new ArrayList<>();
+        List<float[]> readyVectors = new ArrayList<>();
+
+        int offset = 0;
+        for (List<Document> page : freshPages) {
+            List<Document> kept = new ArrayList<>(page.size());
+            List<float[]> keptVectors = new ArrayList<>(page.size());
+
+            for (int i = 0; i < page.size(); i++) {
+                float[] vector = vectors.get(offset + i);
+                if (storedDistances[offset + i] <= DEDUPE_MAX_DISTANCE) continue;
+                if (isNearDuplicate(vector, readyVectors) || isNearDuplicate(vector, keptVectors)) continue;
+
+                kept.add(page.get(i));
+                keptVectors.add(vector);
+            }
+            offset += page.size();
+
+            ready.addAll(indexChunks(kept));
+            readyVectors.addAll(keptVectors);
+        }
+
+        if (!ready.isEmpty()) vectorRepository.insertAll(ready, readyVectors);
+
+        // near duplicates are remembered too: the same text would be dropped by vector dedupe again
+        contentHashIndex.remember(freshHashes);
+        return ready.size();
     }
 
     private Document buildSourceDocument(WebSearchData data) {
@@ -234,17 +323,7 @@ public class WebSearchMemoryService {
         return cleaned;
     }
 
-    private List<Document> dedupeAndIndex(List<Document> docs, String sourceUrl) {
-        if (docs == null || docs.isEmpty()) return List.of();
-
-        List<Document> kept = new ArrayList<>(docs.size());
-        for (Document d : docs) {
-            String chunk = d.getText();
-            if (chunk == null || chunk.isBlank()) continue;
-
-            if (!isDuplicateByVector(chunk, sourceUrl)) kept.add(d);
-        }
-
+    private List<Document> indexChunks(List<Document> kept) {
         int total = kept.size();
         if (total == 0) return List.of();
 
@@ -260,29 +339,38 @@ public class WebSearchMemoryService {
         return indexed;
     }
 
-    private boolean isDuplicateByVector(String chunk, String sourceUrl) {
+    private double[] nearestStoredDistances(List<float[]> vectors) {
         try {
-            List<Document> matches = vectorStore.similaritySearch(
-                    SearchRequest.builder()
-                            .query(chunk)
-                            .topK(DEDUPE_TOP_K)
-                            .similarityThreshold(DEDUPE_SIMILARITY_THRESHOLD)
-                            .filterExpression("tier == '" + TIER_WEB_SEARCH + "'")
-                            .build()
-            );
+            return vectorRepository.nearestDistances(TIER_WEB_SEARCH, vectors);
+        } catch (Exception e) {
+            log.debug("Dedupe check failed, will save chunks. Reason: {}", e.getMessage());
+            double[] none = new double[vectors.size()];
+            Arrays.fill(none, Double.NaN);
+            return none;
+        }
+    }
 
-            if (matches.isEmpty()) return false;
+    /**
+     * Chunks of the same batch are not in the table yet, so near-copies within the batch (the same
+     * paragraph on two result pages) are caught here instead.
+     */
+    private static boolean isNearDuplicate(float[] vector, List<float[]> accepted) {
+        for (float[] other : accepted) {
+            if (cosineSimilarity(vector, other) >= DEDUPE_SIMILARITY_THRESHOLD) return true;
+        }
+        return false;
+    }
 
-            for (Document m : matches) {
-                Object url = m.getMetadata().get("url");
-                if (sourceUrl != null && sourceUrl.equals(url)) return true;
-            }
+    private static double cosineSimilarity(float[] a, float[] b) {
+        if (a.length != b.length) return 0;
 
-            return true;
-        } catch (Exception e) {
-            log.debug("Dedupe check failed, will save chunk. Reason: {}", e.getMessage());
-            return false;
+        double dot = 0, normA = 0, normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
         }
+        return normA == 0 || normB == 0 ? 0 : dot / (Math.sqrt(normA) * Math.sqrt(normB));
     }
 
     // -----------------------------
@@ -1,5 +1,6 @@
 package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.service;
 
+import com.discord.LocalAIDiscordAgent.llm.classifierCache.ClassifierResultCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.model.ChatModel;
@@ -52,8 +53,10 @@ public class WebSearchNecessityService {
             """;
 
     private final ChatClient internalChatClient;
+    private final ClassifierResultCache cache;
 
-    public WebSearchNecessityService(ChatModel llmStructuredModel) {
+    public WebSearchNecessityService(ChatModel llmStructuredModel, ClassifierResultCache cache) {
+        this.cache = cache;
         this.internalChatClient = ChatClient.builder(llmStructuredModel)
                 .defaultOptions(OllamaChatOptions.builder()
                         .temperature(0.0)
@@ -64,23 +67,25 @@ public class WebSearchNecessityService {
     public boolean needsWebSearch(String userMessage, String context) {
         String safeContext = context == null ? "" : context.trim();
 
-        String response = internalChatClient.prompt()
-                .system(SYSTEM_MESSAGE.formatted(safeContext))
-                .user("""
-                        user_message:
-                        --------------------------
-                        %s
-                        --------------------------
-                        Return only one word: true or false.
-                        """.formatted(userMessage))
-                .call()
-                .content();
+        return cache.getOrCompute("web-search-necessity", userMessage, safeContext, () -> {
+            String response = internalChatClient.prompt()
+                    .system(SYSTEM_MESSAGE.formatted(safeContext))
+                    .user("""
+                            user_message:
+                            --------------------------
+                            %s
+                            --------------------------
+                            Return only one word: true or false.
+                            """.formatted(userMessage))
+                    .call()
+                    .content();
 
-        return "true".equals(
-                Optional.ofNullable(response)
-                        .orElse("")
-                        .trim()
-                        .toLowerCase(Locale.ROOT)
-        );
+            return "true".equals(
+                    Optional.ofNullable(response)
+                            .orElse("")
+                            .trim()
+                            .toLowerCase(Locale.ROOT)
+            );
+        });
     }
 }
\ No newline at end of file
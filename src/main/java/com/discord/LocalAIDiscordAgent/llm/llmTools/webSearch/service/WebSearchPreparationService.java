@@ -21,6 +21,13 @@ public class WebSearchPreparationService {
     }
 
     public void prepare(DiscGlobalData discGlobalData, PromptData promptData) {
+        prepare(discGlobalData, promptData, null);
+    }
+
+    /**
+     * @param preflightSignal web-search necessity already decided by the preflight call, or null to ask the classifier
+     */
+    public void prepare(DiscGlobalData discGlobalData, PromptData promptData, Boolean preflightSignal) {
 //        PromptData promptData = new PromptData(mapperUtils);
 
 //        String normalizedUserMessage = normalize(userMessage);
@@ -34,10 +41,12 @@ public class WebSearchPreparationService {
 //            return promptData;
         }
 
-        boolean softSignal = necessityService.needsWebSearch(
-                normalizedUserMessage,
-                normalize("")
-        );
+        boolean softSignal = preflightSignal != null
+                ? preflightSignal
+                : necessityService.needsWebSearch(
+                        normalizedUserMessage,
+                        normalize("")
+                );
 
         log.info("Web-search soft signal: {}", softSignal);
 
@@ -1,13 +1,13 @@
 package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.tools;
 
-import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.service.WebSearchMemoryService;
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch.PageFetcher;
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch.PageTextReader;
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch.PageTextReader.PageText;
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.ingestion.WebSearchIngestionQueue;
 import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.utils.DocumentExtractionUtils;
 import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.utils.NetUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Connection;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Component;
@@ -17,12 +17,15 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Pattern;
 
 /**
  * DirectLinkTool (JSON-only, direct fetch only)
- * - Only fetches the provided page.
+ * - Only fetches the provided page, through the shared page text cache.
  * - No fallback searches and no "suggested query" output.
  * - Returns JSON with status OK/ERROR.
  */
@@ -36,24 +39,15 @@ public class DirectLinkTool {
             Pattern.compile("(?i)[?&](ad_domain|ad_provider|ad_type|click_metadata|ad_click|advertisement)=");
 
     private static final int TIMEOUT_MS = 12_000;
-    private static final int MAX_BODY_BYTES = 1_000_000;
     private static final int MAX_CONTENT_LENGTH = 2_000;
     private static final int MAX_TOTAL_OUTPUT_CHARS = 200000;
-    private static final int MAX_REDIRECTS = 5;
 
-    private static final Set<String> NON_HTML_CONTENT_TYPES = Set.of(
-            "application/pdf",
-            "application/zip",
-            "application/octet-stream",
-            "image/",
-            "audio/",
-            "video/"
-    );
+    private final WebSearchIngestionQueue ingestionQueue;
+    private final PageTextReader pageTextReader;
 
-    private final WebSearchMemoryService webSearchMemoryService;
-
-    public DirectLinkTool(WebSearchMemoryService webSearchMemoryService) {
-        this.webSearchMemoryService = webSearchMemoryService;
+    public DirectLinkTool(WebSearchIngestionQueue ingestionQueue, PageTextReader pageTextReader) {
+        this.ingestionQueue = ingestionQueue;
+        this.pageTextReader = pageTextReader;
     }
 
     @Tool(
@@ -123,10 +117,10 @@ public class DirectLinkTool {
         }
 
         try {
-            Connection.Response resp = executeWithSafeRedirects(normalized, failedUrls);
-            int httpStatus = resp.statusCode();
-            String contentType = resp.contentType();
-            String resolvedUrl = resp.url().toString();
+            PageText page = readPage(normalized, failedUrls);
+            int httpStatus = page.status();
+            String contentType = page.contentType();
+            String resolvedUrl = page.url();
 
             if (!NetUtil.isSafeHttpUrl(resolvedUrl)) {
                 failedUrls.add(resolvedUrl);
@@ -167,7 +161,7 @@ public class DirectLinkTool {
                 )));
             }
 
-            if (!isHtmlOrPlainText(contentType)) {
+            if (!PageTextReader.isHtmlOrPlainText(contentType)) {
                 failedUrls.add(resolvedUrl);
                 return clipTotal(toJson(new WebSearchResponse(
                         "SEARCH_RESULTS",
@@ -180,12 +174,9 @@ public class DirectLinkTool {
                 )));
             }
 
-            Document doc = resp.parse();
-            DocumentExtractionUtils.removeBoilerplate(doc);
-
-            String title = DocumentExtractionUtils.safeTrim(doc.title());
-            String extracted = DocumentExtractionUtils.extractMainText(doc);
-            String desc = DocumentExtractionUtils.extractDescription(doc);
+            String title = DocumentExtractionUtils.safeTrim(page.title());
+            String extracted = page.text();
+            String desc = page.description();
 
             // lightweight "snippet"
             String snippet = DocumentExtractionUtils.safeTrim(desc);
@@ -228,12 +219,8 @@ public class DirectLinkTool {
 
             String json = clipTotal(toJson(ok));
 
-            try {
-                // Now compatible with your JSON-only WebSearchMemoryService parser
-                webSearchMemoryService.saveWebSearchResult(json);
-            } catch (Exception e) {
-                log.warn("Error saving direct_link JSON to memory: {}", e.getMessage());
-            }
+            // same JSON shape WebSearchMemoryService parses; ingested in the background
+            ingestionQueue.submit(json);
 
             return json;
 
@@ -252,40 +239,29 @@ public class DirectLinkTool {
     }
 
     // ---------------------------
-    // Safe redirects
+    // Page reading
     // ---------------------------
 
-    private Connection.Response executeWithSafeRedirects(String startUrl, List<String> failedUrls) throws IOException {
-        String current = startUrl;
-
-        for (int i = 0; i <= MAX_REDIRECTS; i++) {
-            if (!NetUtil.isSafeHttpUrl(current)) {
-                DocumentExtractionUtils.safeAdd(failedUrls, current);
-                throw new IOException("Unsafe URL (SSRF blocked): " + current);
-            }
-
-            Connection.Response resp = Jsoup.connect(current)
-                    .timeout(TIMEOUT_MS)
-                    .followRedirects(false)
-                    .maxBodySize(MAX_BODY_BYTES)
-                    .userAgent(NetUtil.commonUserAgent())
-                    .header("Accept-Language", "en-US,en;q=0.9")
-                    .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,text/plain;q=0.8,*/*;q=0.7")
-                    .ignoreHttpErrors(true)
-                    .ignoreContentType(true)
-                    .execute();
-
-            String next = NetUtil.getRedirectTargetOrNull(resp);
-            if (next != null) {
-                current = next;
-                continue;
+    /**
+     * Redirects and the SSRF check on every hop are handled by {@link PageFetcher}; an unsafe hop is
+     * reported in {@code failedUrls}.
+     */
+    private PageText readPage(String url, List<String> failedUrls) throws Exception {
+        CompletableFuture<PageText> read = pageTextReader.read(url);
+        try {
+            return read.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            read.cancel(true);
+            throw new IOException("Timed out after " + TIMEOUT_MS + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PageFetcher.UnsafeUrlException unsafe) {
+                DocumentExtractionUtils.safeAdd(failedUrls, unsafe.url());
             }
-
-            return resp;
+            throw e.getCause() instanceof Exception cause ? cause : e;
         }
-
-        DocumentExtractionUtils.safeAdd(failedUrls, startUrl);
-        throw new IOException("Too many redirects (limit=" + MAX_REDIRECTS + ")");
     }
 
     // ---------------------------
@@ -348,20 +324,6 @@ public class DirectLinkTool {
         return "https://" + v;
     }
 
-    private boolean isHtmlOrPlainText(String contentType) {
-        if (contentType == null || contentType.isBlank()) return true;
-        String ct = contentType.toLowerCase(Locale.ROOT);
-
-        if (ct.contains("text/html") || ct.contains("application/xhtml+xml")) return true;
-        if (ct.contains("text/plain")) return true;
-
-        for (String bad : NON_HTML_CONTENT_TYPES) {
-            if (bad.endsWith("/") && ct.startsWith(bad)) return false;
-            if (!bad.endsWith("/") && ct.startsWith(bad)) return false;
-        }
-
-        return true;
-    }
     private String toJson(Object o) {
         try {
             return MAPPER.writeValueAsString(o);
@@ -1,18 +1,20 @@
 package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.tools;
 
-import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.service.WebSearchMemoryService;
-
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch.PageFetcher;
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch.PageTextReader;
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch.PageTextReader.PageText;
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.ingestion.WebSearchIngestionQueue;
 import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.utils.DocumentExtractionUtils;
 import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.utils.NetUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -22,6 +24,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,7 +36,7 @@ import java.util.regex.Pattern;
  * - Pure JSON output only (no legacy SEARCH_RESULTS / WEBPAGE_FETCH strings)
  * - Keeps output bounded (MAX_TOTAL_OUTPUT_CHARS) and excerpt bounded (MAX_EXCERPT_CHARS)
  * - Skips advertisement/tracking URLs
- * - Saves JSON output directly into WebSearchMemoryService (which now parses JSON only)
+ * - Queues JSON output for ingestion into WebSearchMemoryService (which now parses JSON only)
  */
 @Slf4j
 @Component
@@ -44,17 +50,22 @@ public class WebSearchTool {
     private static final Pattern AD_PARAMS = Pattern.compile("(?i)[?&](ad_domain|ad_provider|ad_type|click_metadata|ad_click|advertisement)=");
 
     private static final int SEARCH_TIMEOUT_MS = 15_000;
-    private static final int MAX_BODY_BYTES = 1_000_000;
-    private static final int PAGE_TIMEOUT_MS = 15_000;
     private static final int MAX_RESULTS = 3;
     private static final int MAX_EXCERPT_CHARS = 1_200;
     private static final int MAX_TOTAL_OUTPUT_CHARS = 15000;
-    private static final int MAX_REDIRECTS = 5;
 
-    private final WebSearchMemoryService webSearchMemoryService;
+    private final WebSearchIngestionQueue ingestionQueue;
+    private final PageTextReader pageTextReader;
+    private final long fetchDeadlineMillis;
 
-    public WebSearchTool(WebSearchMemoryService webSearchMemoryService) {
-        this.webSearchMemoryService = webSearchMemoryService;
+    public WebSearchTool(
+            WebSearchIngestionQueue ingestionQueue,
+            PageTextReader pageTextReader,
+            @Value("${web.search.fetch.deadline.millis}") long fetchDeadlineMillis
+    ) {
+        this.ingestionQueue = ingestionQueue;
+        this.pageTextReader = pageTextReader;
+        this.fetchDeadlineMillis = fetchDeadlineMillis;
     }
 
     @Tool(
@@ -152,11 +163,20 @@ public class WebSearchTool {
                 ));
             }
 
+            // all pages are requested at once (cached ones complete immediately); whatever has not
+            // arrived by the deadline is skipped
+            List<CompletableFuture<PageText>> fetches = new ArrayList<>(top.size());
+            for (SearchResult sr : top) {
+                fetches.add(pageTextReader.read(sr.url));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fetchDeadlineMillis);
+
             List<WebSearchResponse.Result> results = new ArrayList<>(top.size());
             for (int i = 0; i < top.size(); i++) {
                 SearchResult sr = top.get(i);
 
-                String excerpt = fetchAndExtractPage(sr.url, failedUrls);
+                String excerpt = awaitAndExtractPage(sr.url, fetches.get(i), deadline, failedUrls);
                 excerpt = clip(excerpt, 2000);
 
                 results.add(new WebSearchResponse.Result(
@@ -192,113 +212,71 @@ public class WebSearchTool {
     }
 
     /**
-     * Builds clipped JSON, persists into WebSearchMemoryService, and returns clipped JSON.
+     * Builds clipped JSON, queues it for ingestion into WebSearchMemoryService, and returns clipped JSON.
      */
     private String buildAndMaybePersist(WebSearchResponse response) {
         String json = DocumentExtractionUtils.clipTotal(toJson(response), MAX_TOTAL_OUTPUT_CHARS);
 
-        try {
-            // Let WebSearchMemoryService handle the filtering internally, just like DirectLinkTool does
-            webSearchMemoryService.saveWebSearchResult(json);
-        } catch (Exception e) {
-            log.warn("Failed to save SEARCH_RESULTS to memory: {}", e.getMessage());
-        }
+        // WebSearchMemoryService does the filtering when the queue drains, just like for DirectLinkTool
+        ingestionQueue.submit(json);
 
         return json;
     }
 
-    private String fetchAndExtractPage(String url, List<String> failedUrls) {
-        if (!NetUtil.isSafeHttpUrl(url)) {
-            DocumentExtractionUtils.safeAdd(failedUrls, url);
-            return "[Skipped: unsafe or non-http(s) URL]";
-        }
-
+    private String awaitAndExtractPage(
+            String url,
+            CompletableFuture<PageText> fetch,
+            long deadline,
+            List<String> failedUrls
+    ) {
         try {
-            Connection.Response resp = executeWithSafeRedirects(url, failedUrls);
-            int status = resp.statusCode();
-            String contentType = resp.contentType();
-            String resolvedUrl = resp.url().toString();
-
-            if (!NetUtil.isSafeHttpUrl(resolvedUrl)) {
-                DocumentExtractionUtils.safeAdd(failedUrls, resolvedUrl);
-                return "[Skipped: unsafe final URL after redirects]";
-            }
-
-            if (isAdvertisementUrl(resolvedUrl)) {
-                DocumentExtractionUtils.safeAdd(failedUrls, resolvedUrl);
-                return "[Skipped: advertisement URL after redirects]";
-            }
-
-            if (status >= 400) {
-                DocumentExtractionUtils.safeAdd(failedUrls, resolvedUrl);
-                return "[Failed to fetch page: HTTP " + status + "]";
-            }
-
-            if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("text/plain")) {
-                String body = DocumentExtractionUtils.safeTrim(resp.body());
-                if (body.isEmpty()) {
-                    DocumentExtractionUtils.safeAdd(failedUrls, resolvedUrl);
-                    return "[Skipped: no readable text found]";
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            return excerpt(fetch.get(remaining, TimeUnit.NANOSECONDS), failedUrls);
+        } catch (TimeoutException e) {
+            fetch.cancel(true);
+            DocumentExtractionUtils.safeAdd(failedUrls, url);
+            return "[Skipped: page did not load before the deadline]";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            DocumentExtractionUtils.safeAdd(failedUrls, url);
+            return "[Failed to fetch page: interrupted]";
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PageFetcher.UnsafeUrlException unsafe) {
+                DocumentExtractionUtils.safeAdd(failedUrls, unsafe.url());
+                if (unsafe.url().equals(url)) {
+                    return "[Skipped: unsafe or non-http(s) URL]";
                 }
-                return DocumentExtractionUtils.clip(
-                        DocumentExtractionUtils.normalizeWhitespace(body),
-                        MAX_EXCERPT_CHARS
-                );
-            }
-
-            Document doc = resp.parse();
-            DocumentExtractionUtils.removeBoilerplate(doc);
-
-            String text = DocumentExtractionUtils.extractMainText(doc);
-            String desc = DocumentExtractionUtils.extractDescription(doc);
-            if (!desc.isBlank() && text.length() < 400 && !text.contains(desc)) {
-                text = (desc + " " + text).trim();
             }
-
-            if (DocumentExtractionUtils.safeTrim(text).isEmpty()) {
-                DocumentExtractionUtils.safeAdd(failedUrls, resolvedUrl);
-                return "[Skipped: no readable text found]";
-            }
-
-            return DocumentExtractionUtils.clip(text, MAX_EXCERPT_CHARS);
-
-        } catch (IOException e) {
             DocumentExtractionUtils.safeAdd(failedUrls, url);
-            return "[Failed to fetch page: " + DocumentExtractionUtils.safeError(e.getMessage()) + "]";
+            return "[Failed to fetch page: " + DocumentExtractionUtils.safeError(e.getCause().getMessage()) + "]";
         }
     }
 
-    private Connection.Response executeWithSafeRedirects(String startUrl, List<String> failedUrls) throws IOException {
-        String current = startUrl;
+    private String excerpt(PageText page, List<String> failedUrls) {
+        String resolvedUrl = page.url();
 
-        for (int i = 0; i <= MAX_REDIRECTS; i++) {
-            if (!NetUtil.isSafeHttpUrl(current)) {
-                DocumentExtractionUtils.safeAdd(failedUrls, current);
-                throw new IOException("Unsafe URL (SSRF blocked): " + current);
-            }
+        if (isAdvertisementUrl(resolvedUrl)) {
+            DocumentExtractionUtils.safeAdd(failedUrls, resolvedUrl);
+            return "[Skipped: advertisement URL after redirects]";
+        }
 
-            Connection.Response resp = Jsoup.connect(current)
-                    .timeout(PAGE_TIMEOUT_MS)
-                    .followRedirects(false)
-                    .maxBodySize(MAX_BODY_BYTES)
-                    .userAgent(NetUtil.commonUserAgent())
-                    .header("Accept-Language", "en-US,en;q=0.9")
-                    .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,text/plain;q=0.8,*/*;q=0.7")
-                    .ignoreHttpErrors(true)
-                    .ignoreContentType(true)
-                    .execute();
+        if (page.status() >= 400) {
+            DocumentExtractionUtils.safeAdd(failedUrls, resolvedUrl);
+            return "[Failed to fetch page: HTTP " + page.status() + "]";
+        }
 
-            String next = NetUtil.getRedirectTargetOrNull(resp);
-            if (next != null) {
-                current = next;
-                continue;
-            }
+        String text = page.text();
+        String desc = page.description();
+        if (!desc.isBlank() && text.length() < 400 && !text.contains(desc)) {
+            text = (desc + " " + text).trim();
+        }
 
-            return resp;
+        if (DocumentExtractionUtils.safeTrim(text).isEmpty()) {
+            DocumentExtractionUtils.safeAdd(failedUrls, resolvedUrl);
+            return "[Skipped: no readable text found]";
         }
 
-        DocumentExtractionUtils.safeAdd(failedUrls, startUrl);
-        throw new IOException("Too many redirects (limit=" + MAX_REDIRECTS + ")");
+        return DocumentExtractionUtils.clip(text, MAX_EXCERPT_CHARS);
     }
 
     // ---------- Advertisement URL Detection ----------
@@ -152,22 +152,6 @@ public final class NetUtil {
         return addrs.length > 0;
     }
 
-    public static String getRedirectTargetOrNull(org.jsoup.Connection.Response resp) throws IOException {
-        int status = resp.statusCode();
-        if (status < 300 || status >= 400) return null;
-
-        String location = resp.header("Location");
-        if (location == null || location.isBlank()) return null;
-
-        try {
-            URI base = resp.url().toURI();
-            URI next = base.resolve(location);
-            return next.toString();
-        } catch (URISyntaxException e) {
-            throw new IOException("Invalid redirect URI", e);
-        }
-    }
-
     private static boolean isPublicInet4(byte[] b) {
         if (b == null || b.length != 4) return false;
 
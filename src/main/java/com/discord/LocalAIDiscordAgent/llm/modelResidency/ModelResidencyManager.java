@@ -0,0 +1,309 @@
+package com.discord.LocalAIDiscordAgent.llm.modelResidency;
+
+import com.discord.LocalAIDiscordAgent.metrics.MetricsSource;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Decides which Ollama models stay loaded. At most {@code maxResidentModels} are admitted at once;
+ * calls for a resident model go straight through, calls for another model wait until a resident one
+ * is idle and is explicitly unloaded. A resident model keeps serving same-model calls for at most
+ * {@code maxBatch} admissions while other models are waiting, so work is batched per model without
+ * starving the rest.
+ * <p>
+ * A waiting call holds an llm worker, so the wait is bounded by {@code maxWait}: a call that is not
+ * admitted by then runs unmanaged, and Ollama loads the model on its own with the regular keep-alive.
+ */
+@Slf4j
+@Component
+public class ModelResidencyManager implements MetricsSource {
+
+    private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final boolean enabled;
+    private final String baseUrl;
+    private final String keepAlive;
+    private final int maxResidentModels;
+    private final int maxBatch;
+    private final long maxWaitNanos;
+    private final BlockingSchedulers schedulers;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(HTTP_TIMEOUT)
+            .build();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final LinkedHashMap<String, Resident> residents = new LinkedHashMap<>(8, 0.75f, true);
+    private final Map<String, Integer> waiting = new HashMap<>();
+
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong unloads = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicLong waitTimeouts = new AtomicLong();
+
+    public ModelResidencyManager(
+            @Value("${llm.residency.enabled}") boolean enabled,
+            @Value("${spring.ai.ollama.base-url}") String baseUrl,
+            @Value("${llm.residency.keep.alive}") String keepAlive,
+            @Value("${llm.residency.max.resident.models}") int maxResidentModels,
+            @Value("${llm.residency.max.batch}") int maxBatch,
+            @Value("${llm.residency.max.wait.millis}") long maxWaitMillis,
+            BlockingSchedulers schedulers
+    ) {
+        this.enabled = enabled;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.keepAlive = keepAlive;
+        this.maxResidentModels = Math.max(1, maxResidentModels);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMillis));
+        this.schedulers = schedulers;
+    }
+
+    /**
+     * Keep-alive sent with every request. Unloading is done explicitly by this manager, so this is only
+     * a safety TTL for models that stop being used.
+     */
+    public String keepAlive() {
+        return enabled ? keepAlive : "0s";
+    }
+
+    public <T> T callWith(String model, Supplier<T> call) {
+        boolean admitted = acquire(model);
+        try {
+            return call.get();
+        } finally {
+            if (admitted) {
+                release(model);
+            }
+        }
+    }
+
+    public <T> Flux<T> streamWith(String model, Supplier<Flux<T>> stream) {
+        return Flux.using(
+                        () -> acquire(model),
+                        unused -> stream.get(),
+                        admitted -> {
+                            if (admitted) {
+                                release(model);
+                            }
+                        }
+                )
+                // acquiring may wait for another model to go idle
+                .subscribeOn(schedulers.llm());
+    }
+
+    /**
+     * Hint that a model will be needed soon. Loads it in the background only if a slot is free and
+     * taking it still leaves room for {@code neededFirst}, the models the request calls before this one;
+     * never evicts anything.
+     */
+    public void prefetch(String model, String... neededFirst) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (residents.containsKey(model)) {
+                return;
+            }
+
+            Set<String> missing = new HashSet<>(Arrays.asList(neededFirst));
+            missing.remove(model);
+            missing.removeAll(residents.keySet());
+            if (residents.size() + 1 + missing.size() > maxResidentModels) {
+                return;
+            }
+            residents.put(model, new Resident());
+            loads.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+
+        log.info("Prefetching model {}", model);
+        schedulers.llm().schedule(() -> sendKeepAlive(model, "\"" + keepAlive + "\""));
+    }
+
+    @Override
+    public String metricsName() {
+        return "model-residency";
+    }
+
+    @Override
+    public ResidencyMetrics metrics() {
+        lock.lock();
+        try {
+            return new ResidencyMetrics(loads.get(), unloads.get(), waits.get(), waitTimeouts.get(), new ArrayList<>(residents.keySet()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns false, without admitting the model, if it was not admitted within {@code maxWait}; the
+     * caller then skips {@link #release(String)}.
+     */
+    boolean acquire(String model) {
+        if (!enabled) {
+            return false;
+        }
+
+        String evicted = null;
+
+        lock.lock();
+        try {
+            if (!canAdmit(model)) {
+                waits.incrementAndGet();
+                waiting.merge(model, 1, Integer::sum);
+                try {
+                    long remaining = maxWaitNanos;
+                    while (!canAdmit(model)) {
+                        if (remaining <= 0) {
+                            waitTimeouts.incrementAndGet();
+                            log.warn("Model {} not admitted within {} ms, calling it unmanaged",
+                                    model, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+                            return false;
+                        }
+                        remaining = changed.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for model " + model, e);
+                } finally {
+                    waiting.computeIfPresent(model, (key, count) -> count > 1 ? count - 1 : null);
+                }
+            }
+
+            Resident resident = residents.get(model);
+            if (resident == null) {
+                evicted = evictIdleIfFull();
+                resident = new Resident();
+                residents.put(model, resident);
+                loads.incrementAndGet();
+                log.info("Model {} admitted as resident (evicted={}, loads={}, unloads={})",
+                        model, evicted, loads.get(), unloads.get());
+            }
+
+            resident.inFlight++;
+            resident.batch = hasNonResidentWaiters() ? resident.batch + 1 : 0;
+        } finally {
+            lock.unlock();
+        }
+
+        if (evicted != null) {
+            sendKeepAlive(evicted, "0");
+        }
+        return true;
+    }
+
+    void release(String model) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            Resident resident = residents.get(model);
+            if (resident != null && resident.inFlight > 0) {
+                resident.inFlight--;
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean canAdmit(String model) {
+        Resident resident = residents.get(model);
+        if (resident != null) {
+            return resident.batch < maxBatch || !hasNonResidentWaiters();
+        }
+
+        if (residents.size() < maxResidentModels) {
+            return true;
+        }
+
+        return residents.values().stream().anyMatch(candidate -> candidate.inFlight == 0);
+    }
+
+    private boolean hasNonResidentWaiters() {
+        for (String model : waiting.keySet()) {
+            if (!residents.containsKey(model)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String evictIdleIfFull() {
+        if (residents.size() < maxResidentModels) {
+            return null;
+        }
+
+        for (Map.Entry<String, Resident> entry : residents.entrySet()) {
+            if (entry.getValue().inFlight == 0) {
+                String model = entry.getKey();
+                residents.remove(model);
+                unloads.incrementAndGet();
+                return model;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * An empty /api/generate request only changes residency: keep_alive 0 unloads the model,
+     * a duration loads it and keeps it for that long.
+     */
+    private void sendKeepAlive(String model, String keepAliveJson) {
+        String body = "{\"model\":\"" + model + "\",\"keep_alive\":" + keepAliveJson + "}";
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/generate"))
+                .timeout(HTTP_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 300) {
+                log.warn("Ollama residency request for {} returned {}", model, response.statusCode());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Ollama residency request for {} failed: {}", model, e.getMessage());
+        }
+    }
+
+    private static final class Resident {
+        private int inFlight;
+        private int batch;
+    }
+
+    public record ResidencyMetrics(long loads, long unloads, long waits, long waitTimeouts, List<String> residentModels) {
+    }
+}
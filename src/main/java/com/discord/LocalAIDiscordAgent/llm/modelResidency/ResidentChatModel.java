@@ -0,0 +1,38 @@
+package com.discord.LocalAIDiscordAgent.llm.modelResidency;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+/**
+ * ChatModel that asks the {@link ModelResidencyManager} for its model before every call.
+ */
+public class ResidentChatModel implements ChatModel {
+
+    private final String modelName;
+    private final ChatModel delegate;
+    private final ModelResidencyManager residencyManager;
+
+    public ResidentChatModel(String modelName, ChatModel delegate, ModelResidencyManager residencyManager) {
+        this.modelName = modelName;
+        this.delegate = delegate;
+        this.residencyManager = residencyManager;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return residencyManager.callWith(modelName, () -> delegate.call(prompt));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return residencyManager.streamWith(modelName, () -> delegate.stream(prompt));
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return delegate.getDefaultOptions();
+    }
+}
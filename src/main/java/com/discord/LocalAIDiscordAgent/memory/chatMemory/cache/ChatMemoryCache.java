@@ -0,0 +1,327 @@
+package com.discord.LocalAIDiscordAgent.memory.chatMemory.cache;
+
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.interfaces.ChatMemoryINTF;
+import com.discord.LocalAIDiscordAgent.metrics.MetricsSource;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
+import com.discord.LocalAIDiscordAgent.user.service.UserService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.repository.JpaRepository;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind ring buffer per conversation in front of a chat memory repository. Reads are served from
+ * the last {@code capacity} entries held in memory, rounded down to an even number so the buffer and the
+ * stored rows are trimmed to the same whole USER / ASSISTANT pairs; a conversation that is not cached is loaded once from
+ * the database (plus any of its writes that are still pending). Appends update the buffer immediately and
+ * are persisted in batches by a background flusher, which also trims the stored rows. The least recently
+ * used conversations are dropped once {@code maxConversations} is exceeded.
+ * <p>
+ * A cold load registers the conversation as loading before it snapshots the unsaved writes and reads the
+ * database, and appends arriving meanwhile are collected for it, so a write that is flushed during the
+ * load, or appended while it runs, still ends up in the buffer.
+ */
+@Slf4j
+public abstract class ChatMemoryCache<T extends ChatMemoryINTF> implements MetricsSource {
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final Comparator<ChatMemoryINTF> BY_TIME_ASC = Comparator.comparing(ChatMemoryINTF::getTimestamp);
+
+    private final JpaRepository<T, Long> repo;
+    private final UserService userService;
+    private final BlockingSchedulers schedulers;
+    private final int capacity;
+    private final int maxConversations;
+    private final int flushBatchSize;
+    private final Duration flushInterval;
+
+    private final Map<String, Deque<T>> conversations;
+    private final Map<String, List<T>> loading = new HashMap<>();
+    private final ConcurrentLinkedQueue<PendingWrite<T>> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final Object flushLock = new Object();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong coldLoads = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+
+    private Disposable flusher;
+
+    protected ChatMemoryCache(
+            JpaRepository<T, Long> repo,
+            UserService userService,
+            BlockingSchedulers schedulers,
+            int capacity,
+            int maxConversations,
+            int flushBatchSize,
+            long flushIntervalMillis
+    ) {
+        this.repo = repo;
+        this.userService = userService;
+        this.schedulers = schedulers;
+        this.capacity = Math.max(2, capacity & ~1);
+        this.maxConversations = Math.max(1, maxConversations);
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+        this.flushInterval = Duration.ofMillis(Math.max(10, flushIntervalMillis));
+        this.conversations = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Deque<T>> eldest) {
+                return size() > ChatMemoryCache.this.maxConversations;
+            }
+        };
+    }
+
+    /**
+     * Cold-start load of one conversation, ordered oldest first.
+     */
+    protected abstract List<T> loadConversation(String conversationId);
+
+    /**
+     * Removes stored rows of the conversation that fall outside what the cache keeps.
+     */
+    protected abstract void trimStored(String conversationId, int limit);
+
+    @PostConstruct
+    void startFlusher() {
+        long millis = flushInterval.toMillis();
+        flusher = schedulers.database().schedulePeriodically(this::flushPending, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopFlusher() {
+        if (flusher != null) {
+            flusher.dispose();
+        }
+        flushPending();
+    }
+
+    /**
+     * The cached entries of a conversation, oldest first.
+     */
+    public List<T> get(String conversationId) {
+        Deque<T> buffer;
+        synchronized (conversations) {
+            buffer = conversations.get(conversationId);
+        }
+
+        if (buffer != null) {
+            hits.incrementAndGet();
+            synchronized (buffer) {
+                return new ArrayList<>(buffer);
+            }
+        }
+
+        coldLoads.incrementAndGet();
+        List<T> appendedDuringLoad;
+        synchronized (conversations) {
+            appendedDuringLoad = loading.computeIfAbsent(conversationId, unused -> new ArrayList<>());
+        }
+
+        List<T> unsaved = unsavedEntities(conversationId);
+        List<T> stored = loadConversation(conversationId);
+
+        synchronized (conversations) {
+            loading.remove(conversationId, appendedDuringLoad);
+            Deque<T> raced = conversations.get(conversationId);
+            if (raced != null) {
+                buffer = raced;
+            } else {
+                unsaved.addAll(appendedDuringLoad);
+                buffer = merge(stored, unsaved);
+                conversations.put(conversationId, buffer);
+            }
+        }
+
+        synchronized (buffer) {
+            return new ArrayList<>(buffer);
+        }
+    }
+
+    /**
+     * Adds entries to the conversation's buffer and queues them for persistence.
+     */
+    public void append(String conversationId, List<T> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return;
+        }
+
+        pendingWrites.add(new PendingWrite<>(conversationId, List.copyOf(entities)));
+
+        Deque<T> buffer;
+        synchronized (conversations) {
+            buffer = conversations.get(conversationId);
+            if (buffer == null) {
+                List<T> appendedDuringLoad = loading.get(conversationId);
+                if (appendedDuringLoad != null) {
+                    appendedDuringLoad.addAll(entities);
+                }
+            }
+        }
+
+        // an uncached conversation is loaded on its next read, which picks up the pending write
+        if (buffer != null) {
+            synchronized (buffer) {
+                buffer.addAll(entities);
+                trimToCapacity(buffer);
+            }
+        }
+    }
+
+    @Override
+    public CacheMetrics metrics() {
+        int cached;
+        synchronized (conversations) {
+            cached = conversations.size();
+        }
+        return new CacheMetrics(hits.get(), coldLoads.get(), flushedRows.get(), failedRows.get(), pendingWrites.size(), cached);
+    }
+
+    void flushPending() {
+        synchronized (flushLock) {
+            try {
+                while (!pendingWrites.isEmpty()) {
+                    flushBatch();
+                }
+            } catch (Exception e) {
+                log.error("Chat memory flush failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void flushBatch() {
+        List<PendingWrite<T>> batch = new ArrayList<>();
+        List<T> rows = new ArrayList<>();
+
+        PendingWrite<T> next;
+        while (rows.size() < flushBatchSize && (next = pendingWrites.poll()) != null) {
+            batch.add(next);
+            rows.addAll(next.entities());
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            // rows reference their user, which may still be waiting in the user upsert queue
+            userService.flushPendingUpserts();
+            repo.saveAll(rows);
+            repo.flush();
+            flushedRows.addAndGet(rows.size());
+        } catch (Exception e) {
+            requeueOrDrop(batch, e);
+            return;
+        }
+
+        Set<String> touched = new LinkedHashSet<>();
+        batch.forEach(write -> touched.add(write.conversationId()));
+
+        for (String conversationId : touched) {
+            try {
+                trimStored(conversationId, capacity);
+            } catch (Exception e) {
+                log.warn("Chat memory trim failed for {}: {}", conversationId, e.getMessage());
+            }
+        }
+    }
+
+    private void requeueOrDrop(List<PendingWrite<T>> batch, Exception error) {
+        for (PendingWrite<T> write : batch) {
+            if (write.attempts() + 1 < MAX_WRITE_ATTEMPTS) {
+                pendingWrites.add(write.retried());
+            } else {
+                failedRows.addAndGet(write.entities().size());
+                log.error("Dropping {} chat memory rows for {} after {} attempts: {}",
+                        write.entities().size(), write.conversationId(), MAX_WRITE_ATTEMPTS, error.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Entities of the conversation that are queued or being written. Taken under the flush lock, so a
+     * write is either seen here or already committed before the caller reads the database.
+     */
+    private List<T> unsavedEntities(String conversationId) {
+        List<T> unsaved = new ArrayList<>();
+        synchronized (flushLock) {
+            for (PendingWrite<T> write : pendingWrites) {
+                if (write.conversationId().equals(conversationId)) {
+                    unsaved.addAll(write.entities());
+                }
+            }
+        }
+        return unsaved;
+    }
+
+    /**
+     * Stored rows plus unsaved entities, skipping entities that were saved meanwhile and so are stored
+     * already, and entities seen both in the snapshot and as appended during the load.
+     */
+    private Deque<T> merge(List<T> stored, List<T> unsaved) {
+        List<T> merged = new ArrayList<>(stored);
+
+        Set<Long> storedIds = new HashSet<>();
+        stored.forEach(entity -> storedIds.add(entity.getId()));
+
+        Set<T> added = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (T entity : unsaved) {
+            if ((entity.getId() == null || !storedIds.contains(entity.getId())) && added.add(entity)) {
+                merged.add(entity);
+            }
+        }
+
+        merged.sort(BY_TIME_ASC);
+
+        Deque<T> buffer = new ArrayDeque<>(merged);
+        trimToCapacity(buffer);
+        return buffer;
+    }
+
+    /**
+     * Keeps the newest {@code capacity} entries, the same count {@link #trimStored} keeps in the database.
+     */
+    private void trimToCapacity(Deque<T> buffer) {
+        while (buffer.size() > capacity) {
+            buffer.pollFirst();
+        }
+    }
+
+    private record PendingWrite<T>(String conversationId, List<T> entities, int attempts) {
+        private PendingWrite(String conversationId, List<T> entities) {
+            this(conversationId, entities, 0);
+        }
+
+        private PendingWrite<T> retried() {
+            return new PendingWrite<>(conversationId, entities, attempts + 1);
+        }
+    }
+
+    public record CacheMetrics(
+            long hits,
+            long coldLoads,
+            long flushedRows,
+            long failedRows,
+            int pendingWrites,
+            int cachedConversations
+    ) {
+    }
+}
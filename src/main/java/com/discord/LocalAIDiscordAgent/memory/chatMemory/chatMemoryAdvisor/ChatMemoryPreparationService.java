@@ -24,6 +24,13 @@ public class ChatMemoryPreparationService {
     }
 
     public void prepare(DiscGlobalData discGlobalData, PromptData promptData) {
+        prepare(discGlobalData, promptData, null);
+    }
+
+    /**
+     * @param preflightRelevance soft relevance already decided by the preflight call, or null to ask the classifier
+     */
+    public void prepare(DiscGlobalData discGlobalData, PromptData promptData, Boolean preflightRelevance) {
 
         String userMessage = discGlobalData.getUserMessage();
 
@@ -40,7 +47,9 @@ public class ChatMemoryPreparationService {
         );
         log.info("Memory snapshot: {}", memorySnapshot);
 
-        boolean softRelevant = selectionService.isRelevant(memorySnapshot, userMessage);
+        boolean softRelevant = preflightRelevance != null
+                ? preflightRelevance
+                : selectionService.isRelevant(memorySnapshot, userMessage);
         log.info("Soft relevance: {}", softRelevant);
 
         if (!softRelevant) {
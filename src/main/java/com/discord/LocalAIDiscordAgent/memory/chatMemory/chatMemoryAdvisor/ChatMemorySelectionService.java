@@ -1,9 +1,11 @@
 package com.discord.LocalAIDiscordAgent.memory.chatMemory.chatMemoryAdvisor;
 
+import com.discord.LocalAIDiscordAgent.llm.classifierCache.ClassifierResultCache;
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.records.ChatMemorySnapshotRecord;
 import com.discord.LocalAIDiscordAgent.objectMapper.MapperUtils;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.ollama.api.OllamaChatOptions;
 import org.springframework.stereotype.Service;
 
 import java.util.Locale;
@@ -54,31 +56,41 @@ public class ChatMemorySelectionService {
             """;
 
     private final ChatClient internalChatClient;
+    private final ClassifierResultCache cache;
 
-    public ChatMemorySelectionService(MapperUtils mapperUtils, ChatModel llmStructuredModel) {
+    public ChatMemorySelectionService(MapperUtils mapperUtils, ChatModel llmStructuredModel, ClassifierResultCache cache) {
         this.mapperUtils = mapperUtils;
-        this.internalChatClient = ChatClient.builder(llmStructuredModel).build();
+        this.cache = cache;
+        this.internalChatClient = ChatClient.builder(llmStructuredModel)
+                .defaultOptions(OllamaChatOptions.builder()
+                        .temperature(0.0)
+                        .build())
+                .build();
     }
 
     public boolean isRelevant(ChatMemorySnapshotRecord memorySnapshot, String userMessage) {
-        String relevanceText = internalChatClient.prompt()
-                .system(RELEVANCE_SYSTEM_MESSAGE.formatted(mapperUtils.valuesToString(memorySnapshot)))
-                .user("""
-                        User message:
-                        --------------------------
-                        %s
-                        --------------------------
-                        Return only one word: true or false.
-                        """.formatted(userMessage))
-                .call()
-                .content();
-
-        return Boolean.parseBoolean(
-                Optional.ofNullable(relevanceText)
-                        .orElse("false")
-                        .trim()
-                        .toLowerCase(Locale.ROOT)
-        );
+        String memory = mapperUtils.valuesToString(memorySnapshot);
+
+        return cache.getOrCompute("chat-memory-relevance", userMessage, memory, () -> {
+            String relevanceText = internalChatClient.prompt()
+                    .system(RELEVANCE_SYSTEM_MESSAGE.formatted(memory))
+                    .user("""
+                            User message:
+                            --------------------------
+                            %s
+                            --------------------------
+                            Return only one word: true or false.
+                            """.formatted(userMessage))
+                    .call()
+                    .content();
+
+            return Boolean.parseBoolean(
+                    Optional.ofNullable(relevanceText)
+                            .orElse("false")
+                            .trim()
+                            .toLowerCase(Locale.ROOT)
+            );
+        });
     }
 
     public ChatMemorySelection extractSelection(Record memorySnapshot, String userMessage) {
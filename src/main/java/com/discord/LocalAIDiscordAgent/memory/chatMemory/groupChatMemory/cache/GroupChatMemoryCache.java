@@ -0,0 +1,54 @@
+package com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.cache;
+
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.cache.ChatMemoryCache;
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.model.GroupChatMemory;
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.repository.GroupChatMemoryRepository;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
+import com.discord.LocalAIDiscordAgent.user.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The group buffer keeps the newest messages regardless of age; the time window is applied when the
+ * memory is read, and expired rows are deleted from the database when the conversation is flushed.
+ */
+@Component
+public class GroupChatMemoryCache extends ChatMemoryCache<GroupChatMemory> {
+
+    private final GroupChatMemoryRepository chatRepo;
+    private final long minutesWindow;
+
+    public GroupChatMemoryCache(
+            GroupChatMemoryRepository groupChatMemoryRepository,
+            UserService userService,
+            BlockingSchedulers schedulers,
+            @Value("${group.chat.memory.message.limit}") int messageLimit,
+            @Value("${group.chat.time.window.minutes}") long minutesWindow,
+            @Value("${memory.cache.max.conversations}") int maxConversations,
+            @Value("${memory.cache.flush.batch.size}") int flushBatchSize,
+            @Value("${memory.cache.flush.interval.millis}") long flushIntervalMillis
+    ) {
+        super(groupChatMemoryRepository, userService, schedulers, messageLimit, maxConversations, flushBatchSize, flushIntervalMillis);
+        this.chatRepo = groupChatMemoryRepository;
+        this.minutesWindow = minutesWindow;
+    }
+
+    @Override
+    public String metricsName() {
+        return "group-chat-memory";
+    }
+
+    @Override
+    protected List<GroupChatMemory> loadConversation(String conversationId) {
+        return chatRepo.findAllByConversationIdOrderByTimestampAsc(conversationId);
+    }
+
+    @Override
+    protected void trimStored(String conversationId, int limit) {
+        chatRepo.deleteExpired(conversationId, LocalDateTime.now().minusMinutes(minutesWindow));
+        chatRepo.trimConversation(conversationId, limit);
+    }
+}
@@ -26,7 +26,7 @@ public class GroupChatMemory implements ChatMemoryINTF {
     private MessageType type;
     private String guildId;
     private String channelId;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private UserEntity user;
 
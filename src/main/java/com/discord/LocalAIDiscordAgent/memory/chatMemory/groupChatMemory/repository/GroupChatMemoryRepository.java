@@ -1,8 +1,13 @@
 package com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.repository;
 
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.model.GroupChatMemory;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,6 +15,10 @@ import java.util.List;
 @Repository
 public interface GroupChatMemoryRepository extends JpaRepository<GroupChatMemory, Long> {
 
+    /**
+     * Group memory lists its participants, so the users are fetched in the same query.
+     */
+    @EntityGraph(attributePaths = "user")
     List<GroupChatMemory> findAllByConversationIdOrderByTimestampAsc(String conversationId);
 
     List<GroupChatMemory> findAllByConversationIdAndTimestampBeforeOrderByTimestampAsc(
@@ -17,4 +26,30 @@ public interface GroupChatMemoryRepository extends JpaRepository<GroupChatMemory
             LocalDateTime timestamp
     );
 
+    /**
+     * Deletes everything but the newest {@code keep} rows of the group conversation in one statement.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM group_chat_memory
+            WHERE id IN (
+                SELECT id FROM group_chat_memory
+                WHERE conversation_id = :conversationId
+                ORDER BY timestamp DESC, id DESC
+                OFFSET :keep
+            )
+            """, nativeQuery = true)
+    int trimConversation(@Param("conversationId") String conversationId, @Param("keep") int keep);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM GroupChatMemory g WHERE g.conversationId = :conversationId AND g.timestamp < :cutoff")
+    int deleteExpired(@Param("conversationId") String conversationId, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM GroupChatMemory g WHERE g.timestamp < :cutoff")
+    int deleteAllExpired(@Param("cutoff") LocalDateTime cutoff);
+
 }
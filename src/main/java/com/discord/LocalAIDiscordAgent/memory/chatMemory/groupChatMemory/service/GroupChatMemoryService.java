@@ -4,6 +4,7 @@ package com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.servic
 import com.discord.LocalAIDiscordAgent.llm.systemMessage.records.SystemMsgRecords.GroupMemory;
 import com.discord.LocalAIDiscordAgent.llm.systemMessage.records.SystemMsgRecords.GroupMessage;
 import com.discord.LocalAIDiscordAgent.llm.systemMessage.records.SystemMsgRecords.UserProfile;
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.cache.GroupChatMemoryCache;
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.model.GroupChatMemory;
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.repository.GroupChatMemoryRepository;
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.service.ChatMemoryService;
@@ -35,15 +36,16 @@ public class GroupChatMemoryService extends ChatMemoryService<GroupChatMemory> {
     @Value("${group.chat.time.window.minutes}")
     private long minutesWindow;
 
-    private final GroupChatMemoryRepository chatRepo;
+    private final GroupChatMemoryCache memoryCache;
     private DiscGlobalData discGlobalData;
 
     public GroupChatMemoryService(
             GroupChatMemoryRepository groupChatMemoryRepository,
+            GroupChatMemoryCache groupChatMemoryCache,
             @Value("${group.chat.memory.message.limit}") int messageLimit
     ) {
         super(groupChatMemoryRepository, messageLimit, GroupChatMemory.class);
-        this.chatRepo = groupChatMemoryRepository;
+        this.memoryCache = groupChatMemoryCache;
     }
 
     public void setDiscGlobalData(DiscGlobalData discGlobalData) {
@@ -78,28 +80,17 @@ public class GroupChatMemoryService extends ChatMemoryService<GroupChatMemory> {
         return new GroupMemory(participantProfiles, groupMessages);
     }
 
+    /**
+     * Adds the exchange to the group cache; persisting, expiring and trimming the stored rows happens
+     * in the cache's background flush.
+     */
     @Override
     public void saveAndTrim(List<Message> messages, UserEntity user) {
         try {
-            LocalDateTime timeWindow = LocalDateTime.now().minusMinutes(this.minutesWindow);
-
-            List<GroupChatMemory> expiredMemories = new ArrayList<>(
-                    chatRepo.findAllByConversationIdAndTimestampBeforeOrderByTimestampAsc(
-                            discGlobalData.getGroupConversationId(),
-                            timeWindow
-                    )
-            );
-
-            if (!expiredMemories.isEmpty()) {
-                chatRepo.deleteAllInBatch(expiredMemories);
-                chatRepo.flush();
-            }
-
-            saveAll(messages, user);
-            trimDbToMessagesLimit();
+            memoryCache.append(discGlobalData.getGroupConversationId(), buildOrderedEntities(messages, user));
 
             log.debug(
-                    "Successfully saved and trimmed group chat memory for group conversation: {}",
+                    "Queued group chat memory for group conversation: {}",
                     discGlobalData.getGroupConversationId()
             );
         } catch (Exception e) {
@@ -113,28 +104,9 @@ public class GroupChatMemoryService extends ChatMemoryService<GroupChatMemory> {
         }
     }
 
-    @Override
-    public void trimDbToMessagesLimit() {
-        try {
-            List<GroupChatMemory> memories = new ArrayList<>(
-                    chatRepo.findAllByConversationIdOrderByTimestampAsc(
-                            discGlobalData.getGroupConversationId()
-                    )
-            );
-
-            trimOrderedMemoriesToLimit(memories);
-        } catch (Exception e) {
-            log.error("Error during group chat memory trimming: {}", e.getMessage(), e);
-        }
-    }
-
     @Override
     public Map<MessageType, List<GroupChatMemory>> getChatMemoryAsMap() {
-        List<GroupChatMemory> memories = new ArrayList<>(
-                chatRepo.findAllByConversationIdOrderByTimestampAsc(
-                        discGlobalData.getGroupConversationId()
-                )
-        );
+        List<GroupChatMemory> memories = memoryCache.get(discGlobalData.getGroupConversationId());
 
         if (memories.isEmpty()) {
             return Collections.emptyMap();
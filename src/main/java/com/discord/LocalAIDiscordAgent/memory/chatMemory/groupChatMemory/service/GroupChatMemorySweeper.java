@@ -0,0 +1,69 @@
+package com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.service;
+
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.repository.GroupChatMemoryRepository;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically deletes group messages older than the group time window across all channels, so
+ * channels that went quiet do not keep expired rows until their next message.
+ */
+@Slf4j
+@Component
+public class GroupChatMemorySweeper {
+
+    private final GroupChatMemoryRepository chatRepo;
+    private final BlockingSchedulers schedulers;
+    private final long minutesWindow;
+    private final long sweepIntervalMinutes;
+
+    private Disposable sweeper;
+
+    public GroupChatMemorySweeper(
+            GroupChatMemoryRepository groupChatMemoryRepository,
+            BlockingSchedulers schedulers,
+            @Value("${group.chat.time.window.minutes}") long minutesWindow,
+            @Value("${group.chat.sweep.interval.minutes}") long sweepIntervalMinutes
+    ) {
+        this.chatRepo = groupChatMemoryRepository;
+        this.schedulers = schedulers;
+        this.minutesWindow = minutesWindow;
+        this.sweepIntervalMinutes = Math.max(1, sweepIntervalMinutes);
+    }
+
+    @PostConstruct
+    void start() {
+        sweeper = schedulers.database().schedulePeriodically(
+                this::sweep,
+                sweepIntervalMinutes,
+                sweepIntervalMinutes,
+                TimeUnit.MINUTES
+        );
+    }
+
+    @PreDestroy
+    void stop() {
+        if (sweeper != null) {
+            sweeper.dispose();
+        }
+    }
+
+    void sweep() {
+        try {
+            int deleted = chatRepo.deleteAllExpired(LocalDateTime.now().minusMinutes(minutesWindow));
+            if (deleted > 0) {
+                log.debug("Swept {} expired group chat memory rows", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Group chat memory sweep failed: {}", e.getMessage());
+        }
+    }
+}
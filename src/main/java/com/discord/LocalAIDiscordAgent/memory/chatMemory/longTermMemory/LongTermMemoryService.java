@@ -8,6 +8,8 @@ import org.springframework.ai.document.DocumentReader;
 import org.springframework.ai.document.DocumentWriter;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Service;
@@ -62,19 +64,32 @@ public class LongTermMemoryService {
         }
     }
 
+    /**
+     * One compound filter; each filterExpression(...) call on the builder replaces the previous one.
+     * pgvector turns it into a single jsonpath predicate that the GIN index from V3 can serve.
+     */
     private List<Document> getDocuments() {
         return vectorStore.similaritySearch(
                 SearchRequest.builder()
                         .similarityThreshold(RETRIEVAL_SIMILARITY_THRESHOLD)
-                        .filterExpression("tier == '" + TIER_LONG_TERM_CHAT_MEMORY + "'")
-                        .filterExpression("conversationID == '" + discGlobalData.getConversationId() + "'")
-                        .filterExpression("userID == '" + discGlobalData.getUserId() + "'")
+                        .filterExpression(memoryFilter())
                         .query(discGlobalData.getUserMessage())
                         .topK(SEARCH_TOP_K)
                         .build()
         );
     }
 
+    private Filter.Expression memoryFilter() {
+        FilterExpressionBuilder filter = new FilterExpressionBuilder();
+        return filter.and(
+                filter.and(
+                        filter.eq("tier", TIER_LONG_TERM_CHAT_MEMORY),
+                        filter.eq("conversationID", discGlobalData.getConversationId())
+                ),
+                filter.eq("userID", discGlobalData.getUserId())
+        ).build();
+    }
+
     private static List<LongTermMemoryData> getList(List<Document> matches) {
         return matches.stream()
                 .map(document -> new LongTermMemoryData(
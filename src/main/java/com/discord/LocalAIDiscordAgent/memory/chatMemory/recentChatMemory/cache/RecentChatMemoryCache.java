@@ -0,0 +1,45 @@
+package com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.cache;
+
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.cache.ChatMemoryCache;
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.model.RecentChatMemory;
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.repository.RecentChatMemoryRepository;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
+import com.discord.LocalAIDiscordAgent.user.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class RecentChatMemoryCache extends ChatMemoryCache<RecentChatMemory> {
+
+    private final RecentChatMemoryRepository chatRepo;
+
+    public RecentChatMemoryCache(
+            RecentChatMemoryRepository recentChatMemoryRepository,
+            UserService userService,
+            BlockingSchedulers schedulers,
+            @Value("${recent.chat.memory.message.limit}") int messageLimit,
+            @Value("${memory.cache.max.conversations}") int maxConversations,
+            @Value("${memory.cache.flush.batch.size}") int flushBatchSize,
+            @Value("${memory.cache.flush.interval.millis}") long flushIntervalMillis
+    ) {
+        super(recentChatMemoryRepository, userService, schedulers, messageLimit, maxConversations, flushBatchSize, flushIntervalMillis);
+        this.chatRepo = recentChatMemoryRepository;
+    }
+
+    @Override
+    public String metricsName() {
+        return "recent-chat-memory";
+    }
+
+    @Override
+    protected List<RecentChatMemory> loadConversation(String conversationId) {
+        return chatRepo.findAllByConversationIdOrderByTimestampAsc(conversationId);
+    }
+
+    @Override
+    protected void trimStored(String conversationId, int limit) {
+        chatRepo.trimConversation(conversationId, limit);
+    }
+}
@@ -28,7 +28,7 @@ public class RecentChatMemory implements ChatMemoryINTF {
     private String guildId;
     private String channelId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private UserEntity user;
 
@@ -3,7 +3,11 @@ package com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.repos
 
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.model.RecentChatMemory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -11,4 +15,20 @@ import java.util.List;
 public interface RecentChatMemoryRepository extends JpaRepository<RecentChatMemory, Long> {
     List<RecentChatMemory> findAllByConversationId(String conversationId);
     List<RecentChatMemory> findAllByConversationIdOrderByTimestampAsc(String conversationId);
+
+    /**
+     * Deletes everything but the newest {@code keep} rows of the conversation in one statement.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM recent_chat_memory
+            WHERE id IN (
+                SELECT id FROM recent_chat_memory
+                WHERE conversation_id = :conversationId
+                ORDER BY timestamp DESC, id DESC
+                OFFSET :keep
+            )
+            """, nativeQuery = true)
+    int trimConversation(@Param("conversationId") String conversationId, @Param("keep") int keep);
 }
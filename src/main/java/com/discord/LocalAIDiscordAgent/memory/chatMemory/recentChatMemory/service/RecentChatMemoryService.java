@@ -1,5 +1,6 @@
 package com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.service;
 
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.cache.RecentChatMemoryCache;
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.model.RecentChatMemory;
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.repository.RecentChatMemoryRepository;
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.service.ChatMemoryService;
@@ -33,50 +34,45 @@ public class RecentChatMemoryService extends ChatMemoryService<RecentChatMemory>
             Comparator.comparing(RecentChatMemory::getTimestamp)
                     .thenComparing(m -> m.getType() == USER ? 0 : 1);
 
-    private final RecentChatMemoryRepository chatRepo;
+    private final RecentChatMemoryCache memoryCache;
     private DiscGlobalData discGlobalData;
 
     public RecentChatMemoryService(
             RecentChatMemoryRepository recentChatMemoryRepository,
+            RecentChatMemoryCache recentChatMemoryCache,
             @Value("${recent.chat.memory.message.limit}") int messageLimit
     ) {
         super(recentChatMemoryRepository, messageLimit, RecentChatMemory.class);
-        this.chatRepo = recentChatMemoryRepository;
+        this.memoryCache = recentChatMemoryCache;
     }
 
     public void setDiscGlobalData(DiscGlobalData discGlobalData) {
         this.discGlobalData = discGlobalData;
     }
 
+    /**
+     * Adds the exchange to the conversation cache; persisting and trimming the stored rows happens
+     * in the cache's background flush.
+     */
     @Override
     public void saveAndTrim(List<Message> messages, UserEntity user) {
-        saveAll(messages, user);
-        trimDbToMessagesLimit();
-    }
-
-    @Override
-    public void trimDbToMessagesLimit() {
-        try {
-            List<RecentChatMemory> memories = new ArrayList<>(
-                    chatRepo.findAllByConversationIdOrderByTimestampAsc(
-                            discGlobalData.getConversationId()
-                    )
-            );
-
-            trimOrderedMemoriesToLimit(memories);
-        } catch (Exception e) {
-            log.error("Error during recent chat memory trimming: {}", e.getMessage(), e);
-        }
+        memoryCache.append(discGlobalData.getConversationId(), buildOrderedEntities(messages, user));
     }
 
     public List<RecentMessage> buildMessageMemory() {
-        return sortedRecentMessageList();
+        return buildMessageMemory(getChatMemoryAsMap());
     }
 
-    private List<RecentMessage> sortedRecentMessageList() {
-        Map<MessageType, List<RecentChatMemory>> recentMap = getChatMemoryAsMap();
+    /**
+     * Builds the recent messages from an already loaded {@link #getChatMemoryAsMap()} result, so callers
+     * that need both do not query the conversation twice.
+     */
+    public List<RecentMessage> buildMessageMemory(Map<MessageType, List<RecentChatMemory>> recentMap) {
+        return sortedRecentMessageList(recentMap);
+    }
 
-        if (recentMap.isEmpty()) {
+    private List<RecentMessage> sortedRecentMessageList(Map<MessageType, List<RecentChatMemory>> recentMap) {
+        if (recentMap == null || recentMap.isEmpty()) {
             return Collections.emptyList();
         }
 
@@ -156,11 +152,7 @@ public class RecentChatMemoryService extends ChatMemoryService<RecentChatMemory>
 
     @Override
     public Map<MessageType, List<RecentChatMemory>> getChatMemoryAsMap() {
-        List<RecentChatMemory> memories = new ArrayList<>(
-                chatRepo.findAllByConversationIdOrderByTimestampAsc(
-                        discGlobalData.getConversationId()
-                )
-        );
+        List<RecentChatMemory> memories = memoryCache.get(discGlobalData.getConversationId());
 
         if (memories.isEmpty()) {
             return Collections.emptyMap();
@@ -1,7 +1,5 @@
 package com.discord.LocalAIDiscordAgent.memory.chatMemory.service;
 
-import com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.model.GroupChatMemory;
-import com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.repository.GroupChatMemoryRepository;
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.interfaces.ChatMemoryINTF;
 import com.discord.LocalAIDiscordAgent.user.model.UserEntity;
 import lombok.Getter;
@@ -42,15 +40,18 @@ public abstract class ChatMemoryService<T extends ChatMemoryINTF> {
     public abstract T buildChatEntity(Message message, UserEntity user);
     public abstract Map<MessageType, List<T>> getChatMemoryAsMap();
 
-    public void saveAll(List<Message> messages, UserEntity user) {
+    /**
+     * Builds the USER then ASSISTANT entities for one exchange, or an empty list if the exchange is malformed.
+     */
+    protected List<T> buildOrderedEntities(List<Message> messages, UserEntity user) {
         if (messages == null || messages.isEmpty()) {
             log.warn("Cannot save chat memory: messages list is null or empty");
-            return;
+            return List.of();
         }
 
         if (messages.size() != 2) {
             log.warn("Cannot save chat memory: expected 2 messages but got {}", messages.size());
-            return;
+            return List.of();
         }
 
         List<Message> orderedMessages = new ArrayList<>(messages);
@@ -59,8 +60,7 @@ public abstract class ChatMemoryService<T extends ChatMemoryINTF> {
             Collections.reverse(orderedMessages);
         }
 
-        getRepo().saveAll(createSaveAllList(orderedMessages, user));
-        getRepo().flush();
+        return createSaveAllList(orderedMessages, user);
     }
 
     private List<T> createSaveAllList(List<Message> messages, UserEntity user) {
@@ -69,56 +69,4 @@ public abstract class ChatMemoryService<T extends ChatMemoryINTF> {
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
-    /**
-     * Expects memories ordered oldest -> newest.
-     */
-    protected void trimOrderedMemoriesToLimit(List<T> orderedMemoriesOldestFirst) {
-        if (orderedMemoriesOldestFirst == null || orderedMemoriesOldestFirst.isEmpty()) {
-            return;
-        }
-
-        if (orderedMemoriesOldestFirst.size() <= getMessageLimit()) {
-            return;
-        }
-
-        int toDeleteCount = orderedMemoriesOldestFirst.size() - getMessageLimit();
-
-        // Keep USER / ASSISTANT pairs aligned.
-        if ((toDeleteCount & 1) == 1) {
-            toDeleteCount--;
-        }
-
-        if (toDeleteCount <= 0) {
-            return;
-        }
-
-        List<T> toDelete = new ArrayList<>(orderedMemoriesOldestFirst.subList(0, toDeleteCount));
-
-        getRepo().deleteAllInBatch(toDelete);
-        getRepo().flush();
-
-        log.debug(
-                "Trimmed {} chat memory records to maintain limit of {}",
-                toDeleteCount,
-                getMessageLimit()
-        );
-    }
-
-    /**
-     * Default implementation kept for non-recent memory types.
-     * RecentChatMemoryService should override this with conversation-scoped trimming.
-     */
-    public void trimDbToMessagesLimit() {
-        try {
-            if (getRepo() instanceof GroupChatMemoryRepository
-                    && getModelClass().equals(GroupChatMemory.class)) {
-
-                List<T> memories = new ArrayList<>(getRepo().findAll());
-                trimOrderedMemoriesToLimit(memories);
-            }
-        } catch (Exception e) {
-            log.error("Error during chat memory trimming: {}", e.getMessage(), e);
-        }
-    }
-
 }
\ No newline at end of file
@@ -30,6 +30,13 @@ public class RagContextPreparationService {
     }
 
     public void prepare(DiscGlobalData discGlobalData, PromptData promptData, boolean requiresContext) {
+        prepare(discGlobalData, promptData, requiresContext, null);
+    }
+
+    /**
+     * @param preflightQuery search query already produced by the preflight call, or null to build one
+     */
+    public void prepare(DiscGlobalData discGlobalData, PromptData promptData, boolean requiresContext, String preflightQuery) {
         if(!requiresContext) {
             return;
         }
@@ -40,7 +47,9 @@ public class RagContextPreparationService {
 //            return false;
 //        }
 
-        String query = selectionService.buildQuery(userMessage);
+        String query = preflightQuery != null
+                ? normalize(preflightQuery)
+                : selectionService.buildQuery(userMessage);
         log.info("Retrieved-context query: {}", query);
 
         if (query == null) {
@@ -1,5 +1,6 @@
 package com.discord.LocalAIDiscordAgent.memory.ragMemory.ragAdvisor;
 
+import com.discord.LocalAIDiscordAgent.llm.classifierCache.ClassifierResultCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.model.ChatModel;
@@ -46,8 +47,10 @@ public class RagContextSelectionService {
             """;
 
     private final ChatClient internalChatClient;
+    private final ClassifierResultCache cache;
 
-    public RagContextSelectionService(ChatModel llmStructuredModel) {
+    public RagContextSelectionService(ChatModel llmStructuredModel, ClassifierResultCache cache) {
+        this.cache = cache;
         this.internalChatClient = ChatClient.builder(llmStructuredModel)
                 .defaultOptions(OllamaChatOptions.builder()
                         .temperature(0.0)
@@ -56,7 +59,7 @@ public class RagContextSelectionService {
     }
 
     public String buildQuery(String userMessage) {
-        String query = internalChatClient.prompt()
+        return cache.getOrCompute("rag-query", userMessage, () -> normalize(internalChatClient.prompt()
                 .system(QUERY_SYSTEM_MESSAGE)
                 .user("""
                         Convert the user message below into a detailed compact semantic search query.
@@ -68,34 +71,34 @@ public class RagContextSelectionService {
                         --------------------------
                         """.formatted(userMessage))
                 .call()
-                .content();
-
-        return normalize(query);
+                .content()));
     }
 
     public boolean isRelevant(String retrievedContext, String userMessage) {
-        String relevanceText = internalChatClient.prompt()
-                .system(RELEVANCE_SYSTEM_MESSAGE)
-                .user("""
-                        Retrieved context:
-                        --------------------------
-                        %s
-                        --------------------------
-
-                        User message:
-                        --------------------------
-                        %s
-                        --------------------------
-                        """.formatted(retrievedContext, userMessage))
-                .call()
-                .content();
-
-        return "true".equals(
-                Optional.ofNullable(relevanceText)
-                        .orElse("")
-                        .trim()
-                        .toLowerCase(Locale.ROOT)
-        );
+        return cache.getOrCompute("rag-relevance", userMessage, retrievedContext, () -> {
+            String relevanceText = internalChatClient.prompt()
+                    .system(RELEVANCE_SYSTEM_MESSAGE)
+                    .user("""
+                            Retrieved context:
+                            --------------------------
+                            %s
+                            --------------------------
+
+                            User message:
+                            --------------------------
+                            %s
+                            --------------------------
+                            """.formatted(retrievedContext, userMessage))
+                    .call()
+                    .content();
+
+            return "true".equals(
+                    Optional.ofNullable(relevanceText)
+                            .orElse("")
+                            .trim()
+                            .toLowerCase(Locale.ROOT)
+            );
+        });
     }
 
     private String normalize(String value) {
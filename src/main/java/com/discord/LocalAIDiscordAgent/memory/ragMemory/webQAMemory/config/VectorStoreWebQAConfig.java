@@ -13,6 +13,11 @@ import static org.springframework.ai.vectorstore.pgvector.PgVectorStore.PgIndexT
 @Configuration
 public class VectorStoreWebQAConfig {
 
+    /**
+     * Also queried directly by {@code WebQAVectorRepository}; Postgres folds the unquoted name to lower case.
+     */
+    public static final String VECTOR_TABLE = "vector_store_web_search_memory";
+
     @Bean
     public VectorStore vectorStoreWebQAMemory(JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel) {
         return PgVectorStore.builder(jdbcTemplate, embeddingModel)
@@ -21,7 +26,7 @@ public class VectorStoreWebQAConfig {
                 .indexType(HNSW)
                 .initializeSchema(true)
                 .schemaName("public")
-                .vectorTableName("VECTOR_STORE_WEB_SEARCH_MEMORY")
+                .vectorTableName(VECTOR_TABLE)
                 .dimensions(1024)
                 .maxDocumentBatchSize(10000)
                 .build();
@@ -0,0 +1,99 @@
+package com.discord.LocalAIDiscordAgent.memory.ragMemory.webQAMemory.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Side table of content hashes for web chunks that were already embedded and checked against the web QA
+ * vector table.
+ */
+@Repository
+public class WebContentHashRepository {
+
+    private static final String TABLE = "web_search_content_hashes";
+
+    private static final String SELECT_EXISTING_SQL =
+            "SELECT content_hash FROM %s WHERE content_hash = ANY(?::char(40)[])".formatted(TABLE);
+
+    private static final String SELECT_ALL_SQL = "SELECT content_hash FROM %s".formatted(TABLE);
+
+    private static final int STREAM_FETCH_SIZE = 10_000;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO %s (content_hash, url, chunk_index)
+            VALUES (?, ?, ?)
+            ON CONFLICT (content_hash) DO NOTHING
+            """.formatted(TABLE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public WebContentHashRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public Set<String> findExisting(Collection<String> hashes) {
+        Set<String> existing = new HashSet<>();
+        if (hashes.isEmpty()) {
+            return existing;
+        }
+
+        String[] values = hashes.toArray(String[]::new);
+        jdbcTemplate.query(
+                SELECT_EXISTING_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", values)),
+                rs -> {
+                    existing.add(rs.getString("content_hash"));
+                }
+        );
+        return existing;
+    }
+
+    /**
+     * Streams every stored hash to {@code consumer} without collecting them in memory. The Postgres driver
+     * only fetches in batches inside a transaction and with a fetch size; otherwise it buffers the whole
+     * result set.
+     */
+    public void forEachHash(Consumer<String> consumer) {
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(SELECT_ALL_SQL);
+                    ps.setFetchSize(STREAM_FETCH_SIZE);
+                    return ps;
+                },
+                rs -> {
+                    consumer.accept(rs.getString("content_hash"));
+                }
+        ));
+    }
+
+    public void insertAll(List<ContentHash> hashes) {
+        if (hashes.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(
+                INSERT_SQL,
+                hashes.stream()
+                        .map(hash -> new Object[]{hash.hash(), hash.url(), hash.chunkIndex()})
+                        .toList()
+        );
+    }
+
+    /**
+     * {@code chunkIndex} is the chunk's position in the split page, before dedupe renumbers the kept chunks.
+     */
+    public record ContentHash(String hash, String url, int chunkIndex) {
+    }
+}
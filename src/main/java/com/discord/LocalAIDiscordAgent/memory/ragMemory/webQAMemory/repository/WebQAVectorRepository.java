@@ -0,0 +1,122 @@
+package com.discord.LocalAIDiscordAgent.memory.ragMemory.webQAMemory.repository;
+
+import com.discord.LocalAIDiscordAgent.memory.ragMemory.webQAMemory.config.VectorStoreWebQAConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.ai.document.Document;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Direct JDBC access to the web QA pgvector table for ingestion with vectors that were already computed:
+ * one query returns the nearest stored neighbour for a whole batch of vectors, and one batch insert
+ * stores documents with their vectors, so nothing is embedded a second time.
+ */
+@Repository
+public class WebQAVectorRepository {
+
+    private static final String TABLE = VectorStoreWebQAConfig.VECTOR_TABLE;
+
+    private static final String NEAREST_DISTANCE_SQL = """
+            WITH q AS (
+                SELECT t.embedding::vector AS embedding, t.idx
+                FROM unnest(?::text[]) WITH ORDINALITY AS t(embedding, idx)
+            )
+            SELECT q.idx,
+                   (SELECT m.embedding <=> q.embedding
+                    FROM %s m
+                    WHERE m.metadata::jsonb ->> 'tier' = ?
+                    ORDER BY m.embedding <=> q.embedding
+                    LIMIT 1) AS distance
+            FROM q
+            """.formatted(TABLE);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO %s (id, content, metadata, embedding)
+            VALUES (?, ?, ?::json, ?::vector)
+            ON CONFLICT (id) DO UPDATE SET
+                content = EXCLUDED.content,
+                metadata = EXCLUDED.metadata,
+                embedding = EXCLUDED.embedding
+            """.formatted(TABLE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public WebQAVectorRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Cosine distance from each vector to its nearest stored row of the given tier, in input order;
+     * {@code NaN} where the tier has no rows.
+     */
+    public double[] nearestDistances(String tier, List<float[]> vectors) {
+        double[] distances = new double[vectors.size()];
+        Arrays.fill(distances, Double.NaN);
+        if (vectors.isEmpty()) {
+            return distances;
+        }
+
+        String[] literals = vectors.stream().map(WebQAVectorRepository::toLiteral).toArray(String[]::new);
+
+        jdbcTemplate.query(
+                NEAREST_DISTANCE_SQL,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("text", literals));
+                    ps.setString(2, tier);
+                },
+                rs -> {
+                    double distance = rs.getDouble("distance");
+                    if (!rs.wasNull()) {
+                        distances[rs.getInt("idx") - 1] = distance;
+                    }
+                }
+        );
+
+        return distances;
+    }
+
+    public void insertAll(List<Document> documents, List<float[]> vectors) {
+        if (documents.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            Document document = documents.get(i);
+            rows.add(new Object[]{
+                    UUID.fromString(document.getId()),
+                    document.getText(),
+                    toJson(document),
+                    toLiteral(vectors.get(i))
+            });
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private String toJson(Document document) {
+        try {
+            return objectMapper.writeValueAsString(document.getMetadata());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unserializable metadata for document " + document.getId(), e);
+        }
+    }
+
+    private static String toLiteral(float[] vector) {
+        StringBuilder sb = new StringBuilder(vector.length * 12).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(vector[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
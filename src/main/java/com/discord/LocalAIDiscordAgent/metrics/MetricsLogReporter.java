@@ -0,0 +1,69 @@
+package com.discord.LocalAIDiscordAgent.metrics;
+
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically logs one line per {@link MetricsSource}, so cache hit rates, queue lag and model residency
+ * can be followed without a metrics backend. An interval of 0 turns the reporter off.
+ */
+@Slf4j
+@Component
+public class MetricsLogReporter {
+
+    private final ObjectProvider<MetricsSource> sources;
+    private final BlockingSchedulers schedulers;
+    private final long intervalSeconds;
+
+    private Disposable reporter;
+
+    public MetricsLogReporter(
+            ObjectProvider<MetricsSource> sources,
+            BlockingSchedulers schedulers,
+            @Value("${metrics.log.interval.seconds}") long intervalSeconds
+    ) {
+        this.sources = sources;
+        this.schedulers = schedulers;
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    @PostConstruct
+    void start() {
+        if (intervalSeconds <= 0) {
+            return;
+        }
+
+        // some sources stat files, so this stays off the non-blocking schedulers
+        reporter = schedulers.database().schedulePeriodically(
+                this::report,
+                intervalSeconds,
+                intervalSeconds,
+                TimeUnit.SECONDS
+        );
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reporter != null) {
+            reporter.dispose();
+        }
+    }
+
+    void report() {
+        sources.orderedStream().forEach(source -> {
+            try {
+                log.info("{} metrics: {}", source.metricsName(), source.metrics());
+            } catch (Exception e) {
+                log.debug("Could not read {} metrics: {}", source.metricsName(), e.getMessage());
+            }
+        });
+    }
+}
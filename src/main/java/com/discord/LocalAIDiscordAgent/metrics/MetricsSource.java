@@ -0,0 +1,14 @@
+package com.discord.LocalAIDiscordAgent.metrics;
+
+/**
+ * A component whose {@link #metrics()} snapshot is written to the log by {@link MetricsLogReporter}.
+ */
+public interface MetricsSource {
+
+    String metricsName();
+
+    /**
+     * Cheap snapshot of the current counters; its {@code toString} is what gets logged.
+     */
+    Object metrics();
+}
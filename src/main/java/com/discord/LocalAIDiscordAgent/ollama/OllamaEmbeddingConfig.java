@@ -1,24 +1,69 @@
 package com.discord.LocalAIDiscordAgent.ollama;
 
+import com.discord.LocalAIDiscordAgent.ollama.embedding.CachingEmbeddingModel;
+import com.discord.LocalAIDiscordAgent.ollama.embedding.CoalescingEmbeddingModel;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.ollama.OllamaEmbeddingModel;
 import org.springframework.ai.ollama.api.OllamaApi;
 import org.springframework.ai.ollama.api.OllamaEmbeddingOptions;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Path;
 
 @Configuration
 public class OllamaEmbeddingConfig {
 
+    private static final String EMBEDDING_MODEL = "mxbai-embed-large";
+
+    /**
+     * Batches concurrent misses of {@link #embeddingModel} into single Ollama calls. A bean of its own so
+     * its metrics are reported; everything else injects the primary, caching model.
+     */
     @Bean
-    public EmbeddingModel embeddingModel(OllamaApi ollamaBasicApiConfig) {
-        return OllamaEmbeddingModel.builder()
+    public CoalescingEmbeddingModel coalescingEmbeddingModel(
+            OllamaApi ollamaBasicApiConfig,
+            @Value("${embedding.coalescing.enabled}") boolean coalescingEnabled,
+            @Value("${embedding.coalescing.window.millis}") long windowMillis,
+            @Value("${embedding.coalescing.max.batch}") int maxBatch
+    ) {
+        EmbeddingModel ollamaEmbeddingModel = OllamaEmbeddingModel.builder()
                 .ollamaApi(ollamaBasicApiConfig)
                 .defaultOptions(
                         OllamaEmbeddingOptions.builder()
-                                .model("mxbai-embed-large")
+                                .model(EMBEDDING_MODEL)
                                 .build())
                 .build();
+
+        return new CoalescingEmbeddingModel(ollamaEmbeddingModel, coalescingEnabled, windowMillis, maxBatch);
+    }
+
+    /**
+     * Shared by the long-term and web QA vector stores: cache hits are served first, and only the
+     * misses go on to the coalescing batcher and Ollama.
+     */
+    @Bean
+    @Primary
+    public CachingEmbeddingModel embeddingModel(
+            CoalescingEmbeddingModel coalescingEmbeddingModel,
+            @Value("${embedding.cache.enabled}") boolean cacheEnabled,
+            @Value("${embedding.cache.max.entries}") int cacheMaxEntries,
+            @Value("${embedding.cache.mapped.enabled}") boolean mappedEnabled,
+            @Value("${embedding.cache.mapped.path}") String mappedPath,
+            @Value("${embedding.cache.mapped.dimensions}") int mappedDimensions,
+            @Value("${embedding.cache.mapped.slots}") int mappedSlots
+    ) {
+        return new CachingEmbeddingModel(
+                coalescingEmbeddingModel,
+                EMBEDDING_MODEL,
+                cacheEnabled,
+                cacheMaxEntries,
+                mappedEnabled ? Path.of(mappedPath) : null,
+                mappedDimensions,
+                mappedSlots
+        );
     }
 
 }
@@ -0,0 +1,209 @@
+package com.discord.LocalAIDiscordAgent.ollama.embedding;
+
+import com.discord.LocalAIDiscordAgent.metrics.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache in front of the embedding model, keyed by SHA-256 of model name and text, so
+ * the user message, RAG query and web chunks are embedded once however often they are searched or
+ * written. Hot vectors live in an on-heap LRU; with a mapped store configured, every vector is also
+ * kept in a memory-mapped file that survives restarts. Only the misses of a request reach the delegate,
+ * in one call.
+ */
+@Slf4j
+public class CachingEmbeddingModel implements EmbeddingModel, MetricsSource, AutoCloseable {
+
+    private final EmbeddingModel delegate;
+    private final String defaultModel;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final MappedEmbeddingStore mappedStore;
+
+    private final LinkedHashMap<String, float[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final AtomicLong heapHits = new AtomicLong();
+    private final AtomicLong mappedHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CachingEmbeddingModel(
+            EmbeddingModel delegate,
+            String defaultModel,
+            boolean enabled,
+            int maxEntries,
+            Path mappedPath,
+            int mappedDimensions,
+            int mappedSlots
+    ) {
+        this.delegate = delegate;
+        this.defaultModel = defaultModel;
+        this.enabled = enabled;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.mappedStore = enabled && mappedPath != null ? openMappedStore(mappedPath, mappedDimensions, mappedSlots) : null;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> texts = request.getInstructions();
+        if (!enabled || texts.isEmpty()) {
+            return delegate.call(request);
+        }
+
+        String model = request.getOptions() != null && request.getOptions().getModel() != null
+                ? request.getOptions().getModel()
+                : defaultModel;
+
+        float[][] vectors = new float[texts.size()][];
+        Map<String, List<Integer>> missing = new LinkedHashMap<>();
+        Map<String, String> missingTexts = new LinkedHashMap<>();
+
+        for (int i = 0; i < texts.size(); i++) {
+            String key = hash(model, texts.get(i));
+            float[] cached = lookup(key);
+            if (cached != null) {
+                vectors[i] = cached;
+            } else {
+                missing.computeIfAbsent(key, unused -> new ArrayList<>()).add(i);
+                missingTexts.putIfAbsent(key, texts.get(i));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            misses.addAndGet(missing.size());
+            List<Embedding> results = delegate.call(
+                    new EmbeddingRequest(new ArrayList<>(missingTexts.values()), request.getOptions())
+            ).getResults();
+
+            int resultIndex = 0;
+            for (Map.Entry<String, List<Integer>> entry : missing.entrySet()) {
+                float[] vector = results.get(resultIndex++).getOutput();
+                store(entry.getKey(), vector);
+                for (int i : entry.getValue()) {
+                    vectors[i] = vector.clone();
+                }
+            }
+        }
+
+        List<Embedding> embeddings = new ArrayList<>(vectors.length);
+        for (int i = 0; i < vectors.length; i++) {
+            embeddings.add(new Embedding(vectors[i], i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embed(document.getText());
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    @Override
+    public String metricsName() {
+        return "embedding-cache";
+    }
+
+    @Override
+    public EmbeddingCacheMetrics metrics() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new EmbeddingCacheMetrics(
+                heapHits.get(),
+                mappedHits.get(),
+                misses.get(),
+                size,
+                mappedStore == null ? 0 : mappedStore.size()
+        );
+    }
+
+    @Override
+    public void close() {
+        if (mappedStore != null) {
+            mappedStore.close();
+        }
+    }
+
+    private float[] lookup(String key) {
+        synchronized (entries) {
+            float[] cached = entries.get(key);
+            if (cached != null) {
+                heapHits.incrementAndGet();
+                return cached.clone();
+            }
+        }
+
+        if (mappedStore == null) {
+            return null;
+        }
+
+        float[] mapped = mappedStore.get(key);
+        if (mapped != null) {
+            mappedHits.incrementAndGet();
+            putOnHeap(key, mapped.clone());
+        }
+        return mapped;
+    }
+
+    private void store(String key, float[] vector) {
+        putOnHeap(key, vector.clone());
+        if (mappedStore != null) {
+            mappedStore.put(key, vector);
+        }
+    }
+
+    private void putOnHeap(String key, float[] vector) {
+        synchronized (entries) {
+            entries.put(key, vector);
+            var iterator = entries.entrySet().iterator();
+            while (iterator.hasNext() && entries.size() > maxEntries) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static MappedEmbeddingStore openMappedStore(Path path, int dimensions, int slots) {
+        try {
+            return MappedEmbeddingStore.open(path, dimensions, slots);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Mapped embedding cache at {} unavailable, using heap only: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String hash(String model, String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record EmbeddingCacheMetrics(long heapHits, long mappedHits, long misses, int heapEntries, int mappedEntries) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.discord.LocalAIDiscordAgent.ollama.embedding;
+
+import com.discord.LocalAIDiscordAgent.metrics.MetricsSource;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * EmbeddingModel that merges concurrent requests into one batched call on the delegate, which for
+ * Ollama is a single /api/embed request with a list input. The first caller of a batch waits up to
+ * {@code windowMillis} for others to join, or until {@code maxBatch} texts are collected, then sends
+ * the batch on its own thread and hands each caller its slice of the vectors. Requests with different
+ * model or dimension options are never merged.
+ */
+public class CoalescingEmbeddingModel implements EmbeddingModel, MetricsSource {
+
+    private final EmbeddingModel delegate;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatch;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Map<BatchKey, Batch> open = new HashMap<>();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong texts = new AtomicLong();
+
+    public CoalescingEmbeddingModel(EmbeddingModel delegate, boolean enabled, long windowMillis, int maxBatch) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMillis));
+        this.maxBatch = Math.max(1, maxBatch);
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> instructions = request.getInstructions();
+        if (!enabled || instructions.isEmpty() || instructions.size() >= maxBatch) {
+            requests.incrementAndGet();
+            batches.incrementAndGet();
+            texts.addAndGet(instructions.size());
+            return delegate.call(request);
+        }
+
+        Pending pending = new Pending(instructions);
+        Batch batch = join(request.getOptions(), pending);
+
+        if (batch.leader == pending) {
+            awaitWindow(batch);
+            dispatch(batch);
+        }
+
+        try {
+            return new EmbeddingResponse(pending.result.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embed(document.getText());
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    @Override
+    public String metricsName() {
+        return "embedding-coalescing";
+    }
+
+    @Override
+    public CoalescingMetrics metrics() {
+        return new CoalescingMetrics(requests.get(), batches.get(), texts.get());
+    }
+
+    private Batch join(EmbeddingOptions options, Pending pending) {
+        BatchKey key = BatchKey.of(options);
+
+        lock.lock();
+        try {
+            requests.incrementAndGet();
+
+            Batch batch = open.get(key);
+            if (batch != null && batch.size + pending.texts.size() > maxBatch) {
+                close(key, batch);
+                batch = null;
+            }
+
+            if (batch == null) {
+                batch = new Batch(key, options, pending);
+                open.put(key, batch);
+            }
+
+            batch.members.add(pending);
+            batch.size += pending.texts.size();
+
+            if (batch.size >= maxBatch) {
+                close(key, batch);
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitWindow(Batch batch) {
+        lock.lock();
+        try {
+            long remaining = windowNanos;
+            while (!batch.closed && remaining > 0) {
+                remaining = changed.awaitNanos(remaining);
+            }
+            close(batch.key, batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close(batch.key, batch);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void close(BatchKey key, Batch batch) {
+        batch.closed = true;
+        open.remove(key, batch);
+        changed.signalAll();
+    }
+
+    private void dispatch(Batch batch) {
+        List<String> inputs = new ArrayList<>(batch.size);
+        for (Pending member : batch.members) {
+            inputs.addAll(member.texts);
+        }
+
+        batches.incrementAndGet();
+        texts.addAndGet(inputs.size());
+
+        try {
+            List<Embedding> results = delegate.call(new EmbeddingRequest(inputs, batch.options)).getResults();
+            if (results.size() != inputs.size()) {
+                throw new IllegalStateException("Expected " + inputs.size() + " embeddings but got " + results.size());
+            }
+
+            int offset = 0;
+            for (Pending member : batch.members) {
+                List<Embedding> slice = new ArrayList<>(member.texts.size());
+                for (int i = 0; i < member.texts.size(); i++) {
+                    slice.add(new Embedding(results.get(offset + i).getOutput(), i));
+                }
+                offset += member.texts.size();
+                member.result.complete(slice);
+            }
+        } catch (RuntimeException e) {
+            for (Pending member : batch.members) {
+                member.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private record BatchKey(String model, Integer dimensions) {
+        private static BatchKey of(EmbeddingOptions options) {
+            return options == null ? new BatchKey(null, null) : new BatchKey(options.getModel(), options.getDimensions());
+        }
+    }
+
+    private static final class Batch {
+        private final BatchKey key;
+        private final EmbeddingOptions options;
+        private final Pending leader;
+        private final List<Pending> members = new ArrayList<>();
+        private int size;
+        private boolean closed;
+
+        private Batch(BatchKey key, EmbeddingOptions options, Pending leader) {
+            this.key = key;
+            this.options = options;
+            this.leader = Objects.requireNonNull(leader);
+        }
+    }
+
+    private static final class Pending {
+        private final List<String> texts;
+        private final CompletableFuture<List<Embedding>> result = new CompletableFuture<>();
+
+        private Pending(List<String> texts) {
+            this.texts = texts;
+        }
+    }
+
+    public record CoalescingMetrics(long requests, long batches, long texts) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.discord.LocalAIDiscordAgent.ollama.embedding;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Fixed-size ring of embeddings in a memory-mapped file. Each slot holds the 32-byte SHA-256 key
+ * followed by the vector as raw float32, so a 1024-dimension vector takes 4 KiB and stays off the heap.
+ * The key index is rebuilt from the file on startup; when the ring is full the oldest slot is reused.
+ */
+@Slf4j
+final class MappedEmbeddingStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x454D4231;
+    private static final int HEADER_BYTES = 16;
+    private static final int KEY_BYTES = 32;
+
+    private final int dimensions;
+    private final int slots;
+    private final int slotBytes;
+    private final MappedByteBuffer buffer;
+    private final Map<String, Integer> index = new HashMap<>();
+    private final String[] slotKeys;
+    private int next;
+
+    private MappedEmbeddingStore(Path path, int dimensions, int slots) throws IOException {
+        this.dimensions = dimensions;
+        this.slots = slots;
+        this.slotBytes = KEY_BYTES + dimensions * Float.BYTES;
+        this.slotKeys = new String[slots];
+
+        long size = HEADER_BYTES + (long) slots * slotBytes;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Mapped embedding cache too large: " + size + " bytes");
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(size);
+            this.buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == dimensions && buffer.getInt(8) == slots) {
+            next = Math.floorMod(buffer.getInt(12), slots);
+            loadIndex();
+        } else {
+            reset();
+        }
+
+        log.info("Mapped embedding cache at {} ({} of {} slots used)", path, index.size(), slots);
+    }
+
+    static MappedEmbeddingStore open(Path path, int dimensions, int slots) throws IOException {
+        return new MappedEmbeddingStore(path, Math.max(1, dimensions), Math.max(1, slots));
+    }
+
+    synchronized float[] get(String key) {
+        Integer slot = index.get(key);
+        if (slot == null) {
+            return null;
+        }
+
+        float[] vector = new float[dimensions];
+        buffer.slice(offset(slot) + KEY_BYTES, dimensions * Float.BYTES).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    synchronized void put(String key, float[] vector) {
+        if (vector.length != dimensions || index.containsKey(key)) {
+            return;
+        }
+
+        int slot = next;
+        if (slotKeys[slot] != null) {
+            index.remove(slotKeys[slot]);
+        }
+
+        // the key goes in last, so a slot torn by a crash is read back as empty rather than as a wrong vector
+        int offset = offset(slot);
+        buffer.put(offset, new byte[KEY_BYTES]);
+        buffer.slice(offset + KEY_BYTES, dimensions * Float.BYTES).asFloatBuffer().put(vector);
+        buffer.put(offset, HexFormat.of().parseHex(key));
+
+        slotKeys[slot] = key;
+        index.put(key, slot);
+        next = (slot + 1) % slots;
+        buffer.putInt(12, next);
+    }
+
+    synchronized int size() {
+        return index.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        buffer.force();
+    }
+
+    private void loadIndex() {
+        byte[] key = new byte[KEY_BYTES];
+        for (int slot = 0; slot < slots; slot++) {
+            buffer.get(offset(slot), key);
+            if (!isEmpty(key)) {
+                String hex = HexFormat.of().formatHex(key);
+                slotKeys[slot] = hex;
+                index.put(hex, slot);
+            }
+        }
+    }
+
+    private void reset() {
+        byte[] empty = new byte[KEY_BYTES];
+        for (int slot = 0; slot < slots; slot++) {
+            buffer.put(offset(slot), empty);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, dimensions);
+        buffer.putInt(8, slots);
+        buffer.putInt(12, 0);
+        next = 0;
+    }
+
+    private int offset(int slot) {
+        return HEADER_BYTES + slot * slotBytes;
+    }
+
+    private static boolean isEmpty(byte[] key) {
+        for (byte b : key) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package com.discord.LocalAIDiscordAgent.scheduling;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * One bounded scheduler per blocking resource, so blocking work never runs on Discord4J / Netty event
+ * threads and a slow resource cannot take every worker thread. JPA and JDBC go to {@link #database()},
+ * Ollama chat and embedding calls to {@link #llm()}, and other outbound HTTP (ComfyUI, web pages) to
+ * {@link #http()}.
+ * <p>
+ * With {@code scheduler.virtual.threads.enabled} each resource gets a virtual thread per task instead,
+ * so long LLM and ComfyUI waits no longer pin a platform thread and the thread caps do not apply. Delayed
+ * and periodic tasks still work in that mode; see {@link VirtualThreadScheduledExecutor}.
+ * Admission is still limited upstream by the Discord request queue lanes.
+ */
+@Component
+public class BlockingSchedulers {
+
+    private static final int TTL_SECONDS = 60;
+
+    private final Scheduler database;
+    private final Scheduler llm;
+    private final Scheduler http;
+
+    public BlockingSchedulers(
+            @Value("${scheduler.virtual.threads.enabled}") boolean virtualThreads,
+            @Value("${scheduler.database.threads}") int databaseThreads,
+            @Value("${scheduler.llm.threads}") int llmThreads,
+            @Value("${scheduler.http.threads}") int httpThreads,
+            @Value("${scheduler.queued.tasks}") int queuedTasks
+    ) {
+        this.database = create(virtualThreads, "blocking-db", databaseThreads, queuedTasks);
+        this.llm = create(virtualThreads, "blocking-llm", llmThreads, queuedTasks);
+        this.http = create(virtualThreads, "blocking-http", httpThreads, queuedTasks);
+    }
+
+    public Scheduler database() {
+        return database;
+    }
+
+    public Scheduler llm() {
+        return llm;
+    }
+
+    public Scheduler http() {
+        return http;
+    }
+
+    private static Scheduler create(boolean virtualThreads, String name, int threads, int queuedTasks) {
+        if (virtualThreads) {
+            return Schedulers.fromExecutorService(new VirtualThreadScheduledExecutor(name), name);
+        }
+        return Schedulers.newBoundedElastic(threads, queuedTasks, name, TTL_SECONDS, true);
+    }
+
+    @PreDestroy
+    public void dispose() {
+        database.dispose();
+        llm.dispose();
+        http.dispose();
+    }
+}
@@ -0,0 +1,148 @@
+package com.discord.LocalAIDiscordAgent.scheduling;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Time-capable executor that runs every task on its own virtual thread. A single platform timer thread
+ * only waits for delays to expire and hands the due task over, so Reactor accepts it for
+ * {@code schedule(task, delay)} and {@code schedulePeriodically}, which a plain thread-per-task executor
+ * rejects. A periodic task is queued again only after its run finishes, so runs never overlap.
+ */
+final class VirtualThreadScheduledExecutor extends ScheduledThreadPoolExecutor {
+
+    private final ExecutorService virtualThreads;
+
+    VirtualThreadScheduledExecutor(String name) {
+        super(1, Thread.ofPlatform().name(name + "-timer").daemon().factory());
+        this.virtualThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+    @Override
+    protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task) {
+        return new HandOff<>(task);
+    }
+
+    @Override
+    protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable, RunnableScheduledFuture<V> task) {
+        return new HandOff<>(task);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        virtualThreads.execute(command);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        return virtualThreads.submit(task);
+    }
+
+    @Override
+    public <T> Future<T> submit(Runnable task, T result) {
+        return virtualThreads.submit(task, result);
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        return virtualThreads.submit(task);
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        virtualThreads.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = super.shutdownNow();
+        pending.addAll(virtualThreads.shutdownNow());
+        return pending;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return super.awaitTermination(timeout, unit)
+                && virtualThreads.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs the scheduled task on a virtual thread instead of the timer thread. A periodic task re-queues
+     * this wrapper itself at the end of its run.
+     */
+    private final class HandOff<V> implements RunnableScheduledFuture<V> {
+
+        private final RunnableScheduledFuture<V> task;
+
+        HandOff(RunnableScheduledFuture<V> task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (task.isDone()) {
+                return;
+            }
+            try {
+                virtualThreads.execute(task);
+            } catch (RuntimeException e) {
+                task.cancel(false);
+            }
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return task.isPeriodic();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return task.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = task.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                remove(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return task.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return task.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return task.get();
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return task.get(timeout, unit);
+        }
+    }
+}
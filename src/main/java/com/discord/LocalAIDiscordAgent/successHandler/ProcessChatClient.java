@@ -4,6 +4,7 @@ import com.discord.LocalAIDiscordAgent.memory.chatMemory.groupChatMemory.service
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.longTermMemory.LongTermMemoryService;
 import com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.service.RecentChatMemoryService;
 import com.discord.LocalAIDiscordAgent.discord.data.DiscGlobalDataContextHolder;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
 import com.discord.LocalAIDiscordAgent.user.model.UserEntity;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
@@ -11,7 +12,6 @@ import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 
@@ -21,15 +21,18 @@ public class ProcessChatClient {
     private final ObjectProvider<GroupChatMemoryService> groupServiceProvider;
     private final ObjectProvider<RecentChatMemoryService> recentServiceProvider;
     private final ObjectProvider<LongTermMemoryService> longTermMemoryServiceProvider;
+    private final BlockingSchedulers schedulers;
 
     public ProcessChatClient(
             ObjectProvider<RecentChatMemoryService> recentServiceProvider,
             ObjectProvider<GroupChatMemoryService> groupServiceProvider,
-            ObjectProvider<LongTermMemoryService> longTermMemoryServiceProvider
+            ObjectProvider<LongTermMemoryService> longTermMemoryServiceProvider,
+            BlockingSchedulers schedulers
     ) {
         this.recentServiceProvider = recentServiceProvider;
         this.groupServiceProvider = groupServiceProvider;
         this.longTermMemoryServiceProvider = longTermMemoryServiceProvider;
+        this.schedulers = schedulers;
     }
 
     public Mono<Void> saveInteraction(
@@ -54,7 +57,7 @@ public class ProcessChatClient {
                                     groupService.saveAndTrim(messages, userEntity);
                                     longTermMemoryService.saveLongTermMemory(assistantMessage);
                                 })
-                                .subscribeOn(Schedulers.boundedElastic())
+                                .subscribeOn(schedulers.database())
                 ).then();
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.discord.LocalAIDiscordAgent.user.repository;
+
+import com.discord.LocalAIDiscordAgent.user.model.UserEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC batch upsert for user rows, so a flush of many changed users is one round trip and never
+ * needs a SELECT first.
+ */
+@Repository
+public class UserUpsertRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO user_entity (user_id, user_global, server_nickname, username)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (user_id) DO UPDATE SET
+                user_global = EXCLUDED.user_global,
+                server_nickname = EXCLUDED.server_nickname,
+                username = EXCLUDED.username
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserUpsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void upsertAll(Collection<UserEntity> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = users.stream()
+                .map(user -> new Object[]{
+                        user.getUserId(),
+                        user.getUserGlobal(),
+                        user.getServerNickname(),
+                        user.getUsername()
+                })
+                .toList();
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+}
@@ -1,41 +1,140 @@
 package com.discord.LocalAIDiscordAgent.user.service;
 
 import com.discord.LocalAIDiscordAgent.discord.data.DiscGlobalData;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
 import com.discord.LocalAIDiscordAgent.user.model.UserEntity;
 import com.discord.LocalAIDiscordAgent.user.repository.UserRepository;
+import com.discord.LocalAIDiscordAgent.user.repository.UserUpsertRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+
+/**
+ * Keeps recently seen users in memory. Profile changes (nickname, global name, username) are detected
+ * against the cached entity and queued; queued users are written with one batched upsert per flush, so
+ * resolving the user on a message never touches the database.
+ */
 @Slf4j
 @Service
 public class UserService {
 
     public final UserRepository userRepository;
+    private final UserUpsertRepository userUpsertRepository;
+    private final BlockingSchedulers schedulers;
+    private final int maxCachedUsers;
+    private final long flushIntervalMillis;
+
+    private final Map<Long, UserEntity> users;
+    private final Map<Long, UserEntity> pendingUpserts = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
 
-    public UserService(UserRepository userRepository) {
+    private Disposable flusher;
+
+    public UserService(
+            UserRepository userRepository,
+            UserUpsertRepository userUpsertRepository,
+            BlockingSchedulers schedulers,
+            @Value("${user.cache.max.entries}") int maxCachedUsers,
+            @Value("${user.upsert.flush.interval.millis}") long flushIntervalMillis
+    ) {
         this.userRepository = userRepository;
+        this.userUpsertRepository = userUpsertRepository;
+        this.schedulers = schedulers;
+        this.maxCachedUsers = Math.max(1, maxCachedUsers);
+        this.flushIntervalMillis = Math.max(10, flushIntervalMillis);
+        this.users = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserEntity> eldest) {
+                return size() > UserService.this.maxCachedUsers;
+            }
+        };
     }
 
-    public UserEntity getUser(DiscGlobalData discGlobalData) {
-        Long userId = Long.parseLong(discGlobalData.getUserId());
-        return userRepository.findByUserId(userId);
+    @PostConstruct
+    void startFlusher() {
+        flusher = schedulers.database().schedulePeriodically(
+                this::flushPendingUpserts,
+                flushIntervalMillis,
+                flushIntervalMillis,
+                TimeUnit.MILLISECONDS
+        );
     }
 
-    public void updateUser(UserEntity userEntity , String nickname) {
-        userEntity.setServerNickname(nickname);
-        userRepository.saveAndFlush(userEntity);
+    @PreDestroy
+    void stopFlusher() {
+        if (flusher != null) {
+            flusher.dispose();
+        }
+        flushPendingUpserts();
+    }
+
+    /**
+     * The user for this message, from memory. A user not seen yet, or whose profile changed, is
+     * queued for the next batched upsert.
+     */
+    public UserEntity resolveUser(DiscGlobalData discGlobalData) {
+        Long userId = Long.parseLong(discGlobalData.getUserId());
+        UserEntity current = buildUser(discGlobalData);
+
+        synchronized (users) {
+            UserEntity cached = users.get(userId);
+
+            if (cached == null) {
+                users.put(userId, current);
+                queueUpsert(current);
+                return current;
+            }
+
+            if (!sameProfile(cached, current)) {
+                cached.setServerNickname(current.getServerNickname());
+                cached.setUserGlobal(current.getUserGlobal());
+                cached.setUsername(current.getUsername());
+                queueUpsert(cached);
+            }
+
+            return cached;
+        }
     }
 
-    public void saveUser (UserEntity userEntity) {
-        try {
-            userRepository.saveAndFlush(userEntity);
-        }catch (ConstraintViolationException e) {
-            log.error("Error saving user: {}", e.getMessage(), e);
+    /**
+     * Writes every queued user. Called periodically, and by anything about to insert rows that
+     * reference users.
+     */
+    public void flushPendingUpserts() {
+        synchronized (flushLock) {
+            if (pendingUpserts.isEmpty()) {
+                return;
+            }
+
+            List<UserEntity> batch = new ArrayList<>(pendingUpserts.values());
+
+            try {
+                userUpsertRepository.upsertAll(batch);
+                batch.forEach(user -> pendingUpserts.remove(user.getUserId(), user));
+                log.debug("Upserted {} users", batch.size());
+            } catch (Exception e) {
+                log.error("User upsert failed, {} users stay queued: {}", batch.size(), e.getMessage(), e);
+            }
         }
     }
 
+    public UserEntity getUser(DiscGlobalData discGlobalData) {
+        Long userId = Long.parseLong(discGlobalData.getUserId());
+        return userRepository.findByUserId(userId);
+    }
+
     public UserEntity buildUser(DiscGlobalData discGlobalData) {
         return UserEntity.builder()
                 .userId(Long.parseLong(discGlobalData.getUserId()))
@@ -46,4 +145,20 @@ public class UserService {
 
     }
 
+    private void queueUpsert(UserEntity user) {
+        // a copy, so later in-memory profile changes cannot race with the write
+        pendingUpserts.put(user.getUserId(), UserEntity.builder()
+                .userId(user.getUserId())
+                .userGlobal(user.getUserGlobal())
+                .serverNickname(user.getServerNickname())
+                .username(user.getUsername())
+                .build());
+    }
+
+    private static boolean sameProfile(UserEntity cached, UserEntity current) {
+        return Objects.equals(cached.getServerNickname(), current.getServerNickname())
+                && Objects.equals(cached.getUserGlobal(), current.getUserGlobal())
+                && Objects.equals(cached.getUsername(), current.getUsername());
+    }
+
 }
@@ -0,0 +1,34 @@
+-- Chat memory tables as previously created by hibernate ddl-auto=update.
+-- IF NOT EXISTS keeps this a no-op on databases that already have them.
+
+CREATE TABLE IF NOT EXISTS user_entity (
+    user_id         BIGINT       NOT NULL,
+    server_nickname VARCHAR(255),
+    user_global     VARCHAR(255),
+    username        VARCHAR(255),
+    PRIMARY KEY (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS recent_chat_memory (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    channel_id      VARCHAR(255),
+    content         TEXT,
+    conversation_id VARCHAR(255),
+    guild_id        VARCHAR(255),
+    timestamp       TIMESTAMP(0),
+    type            VARCHAR(255),
+    user_id         BIGINT REFERENCES user_entity (user_id),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS group_chat_memory (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    channel_id      VARCHAR(255),
+    content         TEXT,
+    conversation_id VARCHAR(255),
+    guild_id        VARCHAR(255),
+    timestamp       TIMESTAMP(0),
+    type            VARCHAR(255),
+    user_id         BIGINT REFERENCES user_entity (user_id),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,18 @@
+-- Conversation reads and trims: WHERE conversation_id = ? ORDER BY timestamp.
+CREATE INDEX IF NOT EXISTS idx_recent_chat_memory_conversation_timestamp
+    ON recent_chat_memory (conversation_id, timestamp, id);
+
+CREATE INDEX IF NOT EXISTS idx_group_chat_memory_conversation_timestamp
+    ON group_chat_memory (conversation_id, timestamp, id);
+
+-- Group time window sweep: DELETE ... WHERE timestamp < cutoff across all conversations.
+-- A partial index cannot carry the window itself (now() is not immutable), so this indexes timestamp alone.
+CREATE INDEX IF NOT EXISTS idx_group_chat_memory_timestamp
+    ON group_chat_memory (timestamp);
+
+-- Foreign key lookups (user deletes / joins when group participants are fetched).
+CREATE INDEX IF NOT EXISTS idx_recent_chat_memory_user_id
+    ON recent_chat_memory (user_id);
+
+CREATE INDEX IF NOT EXISTS idx_group_chat_memory_user_id
+    ON group_chat_memory (user_id);
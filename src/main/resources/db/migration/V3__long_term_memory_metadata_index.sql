@@ -0,0 +1,17 @@
+-- Same definition PgVectorStore creates with initializeSchema(true); created here first so the index below
+-- does not depend on which of the two runs first. Both use IF NOT EXISTS.
+CREATE EXTENSION IF NOT EXISTS vector;
+CREATE EXTENSION IF NOT EXISTS hstore;
+CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
+
+CREATE TABLE IF NOT EXISTS vector_store_long_term_chat_memory (
+    id        uuid DEFAULT uuid_generate_v4() PRIMARY KEY,
+    content   text,
+    metadata  json,
+    embedding vector(1024)
+);
+
+-- Long-term lookups filter on tier, conversationID and userID. PgVectorStore renders that as
+-- metadata::jsonb @@ '<jsonpath>', which a jsonb_path_ops GIN index on the same expression serves.
+CREATE INDEX IF NOT EXISTS idx_long_term_memory_metadata
+    ON vector_store_long_term_chat_memory USING gin ((metadata::jsonb) jsonb_path_ops);
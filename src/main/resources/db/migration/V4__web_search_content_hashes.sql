@@ -0,0 +1,12 @@
+-- Exact-duplicate index for web search ingestion: SHA-1 of the normalized chunk text for every chunk that
+-- has already been through vector dedupe, so a byte-identical re-fetch is skipped before it is embedded.
+-- url and chunk_index record where the chunk was first seen.
+CREATE TABLE IF NOT EXISTS web_search_content_hashes (
+    content_hash char(40)    PRIMARY KEY,
+    url          text        NOT NULL,
+    chunk_index  integer     NOT NULL,
+    created_at   timestamptz NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_web_search_content_hashes_url
+    ON web_search_content_hashes (url, chunk_index);
@@ -0,0 +1,13 @@
+-- Last entity table still created by hibernate ddl-auto=update; with ddl-auto=validate it must come from here.
+-- IF NOT EXISTS keeps this a no-op on databases that already have it.
+CREATE TABLE IF NOT EXISTS web_chat_memory (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    channel_id      VARCHAR(255),
+    content         TEXT,
+    conversation_id VARCHAR(255),
+    guild_id        VARCHAR(255),
+    timestamp       TIMESTAMP(6),
+    type            VARCHAR(255),
+    user_id         BIGINT REFERENCES user_entity (user_id),
+    PRIMARY KEY (id)
+);
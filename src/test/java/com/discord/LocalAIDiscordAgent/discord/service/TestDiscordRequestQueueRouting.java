@@ -0,0 +1,44 @@
+package com.discord.LocalAIDiscordAgent.discord.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestDiscordRequestQueueRouting {
+
+    private final DiscordRequestQueueService queue = new DiscordRequestQueueService(1, 1, 1, 1, 1, 1, 1, 1, 1);
+
+    @BeforeEach
+    void setUp() {
+        queue.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    void givenCallerCancels_whenRouting_thenClassificationIsCancelledAndSlotFreed() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        Disposable abandoned = queue.route(Mono.never()
+                        .doOnSubscribe(subscription -> started.countDown())
+                        .doOnCancel(cancelled::countDown))
+                .subscribe();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        abandoned.dispose();
+
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queue.route(Mono.just("text")).block(Duration.ofSeconds(5))).isEqualTo("text");
+    }
+}
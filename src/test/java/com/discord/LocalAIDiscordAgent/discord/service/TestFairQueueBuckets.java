@@ -0,0 +1,61 @@
+package com.discord.LocalAIDiscordAgent.discord.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestFairQueueBuckets {
+
+    @Test
+    void givenSpammingUser_whenPolling_thenOtherUsersAreInterleaved() {
+        FairQueueBuckets<String> buckets = new FairQueueBuckets<>(Map.of(), Map.of());
+
+        buckets.add("g1", "spammer", "s1");
+        buckets.add("g1", "spammer", "s2");
+        buckets.add("g1", "spammer", "s3");
+        buckets.add("g1", "other", "o1");
+
+        assertThat(drain(buckets)).containsExactly("s1", "o1", "s2", "s3");
+    }
+
+    @Test
+    void givenWeightedGuild_whenPolling_thenServedProportionally() {
+        FairQueueBuckets<String> buckets = new FairQueueBuckets<>(Map.of("g1", 2), Map.of());
+
+        buckets.add("g1", "u1", "a1");
+        buckets.add("g1", "u1", "a2");
+        buckets.add("g1", "u1", "a3");
+        buckets.add("g2", "u2", "b1");
+        buckets.add("g2", "u2", "b2");
+
+        assertThat(drain(buckets)).containsExactly("a1", "a2", "b1", "a3", "b2");
+    }
+
+    @Test
+    void givenSingleUser_whenPolling_thenFifoWithExactPositions() {
+        FairQueueBuckets<String> buckets = new FairQueueBuckets<>(Map.of(), Map.of());
+
+        buckets.add("", "", "first");
+        FairQueueBuckets.Slot second = buckets.add("", "", "second");
+
+        assertThat(buckets.positionOf(second)).isEqualTo(2);
+        assertThat(buckets.poll()).isEqualTo("first");
+        assertThat(buckets.positionOf(second)).isEqualTo(1);
+        assertThat(buckets.poll()).isEqualTo("second");
+        assertThat(buckets.positionOf(second)).isZero();
+        assertThat(buckets.poll()).isNull();
+    }
+
+    private static List<String> drain(FairQueueBuckets<String> buckets) {
+        List<String> order = new ArrayList<>();
+        String next;
+        while ((next = buckets.poll()) != null) {
+            order.add(next);
+        }
+        return order;
+    }
+}
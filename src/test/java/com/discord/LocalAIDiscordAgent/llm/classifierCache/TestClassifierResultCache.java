@@ -0,0 +1,49 @@
+package com.discord.LocalAIDiscordAgent.llm.classifierCache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestClassifierResultCache {
+
+    @Test
+    void givenRepeatedMessage_whenClassifying_thenModelIsCalledOnce() {
+        ClassifierResultCache cache = new ClassifierResultCache(true, 10, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.getOrCompute("web-search", "What's the weather?", "ctx", () -> calls.incrementAndGet() > 0);
+        cache.getOrCompute("web-search", "what's the   weather", "ctx", () -> calls.incrementAndGet() > 0);
+        cache.getOrCompute("web-search", "what's the weather", "other ctx", () -> calls.incrementAndGet() > 0);
+
+        assertThat(calls).hasValue(2);
+        assertThat(cache.metrics().get("web-search").hits()).isEqualTo(1);
+        assertThat(cache.metrics().get("web-search").misses()).isEqualTo(2);
+    }
+
+    @Test
+    void givenFullCache_whenAdding_thenLeastRecentlyUsedIsEvicted() {
+        ClassifierResultCache cache = new ClassifierResultCache(true, 2, 10);
+
+        cache.getOrCompute("route", "a", () -> "A");
+        cache.getOrCompute("route", "b", () -> "B");
+        cache.getOrCompute("route", "a", () -> "A2");
+        cache.getOrCompute("route", "c", () -> "C");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getOrCompute("route", "a", () -> "A3")).isEqualTo("A");
+        assertThat(cache.getOrCompute("route", "b", () -> "B2")).isEqualTo("B2");
+    }
+
+    @Test
+    void givenNullResultOrZeroTtl_whenClassifying_thenNothingIsCached() {
+        ClassifierResultCache noTtl = new ClassifierResultCache(true, 10, 0);
+        noTtl.getOrCompute("rag-query", "a", () -> "query");
+        assertThat(noTtl.size()).isZero();
+
+        ClassifierResultCache cache = new ClassifierResultCache(true, 10, 10);
+        cache.getOrCompute("rag-query", "a", () -> null);
+        assertThat(cache.getOrCompute("rag-query", "a", () -> "query")).isEqualTo("query");
+    }
+}
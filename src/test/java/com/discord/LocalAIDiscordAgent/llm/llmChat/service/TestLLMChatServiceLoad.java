@@ -0,0 +1,150 @@
+package com.discord.LocalAIDiscordAgent.llm.llmChat.service;
+
+import com.discord.LocalAIDiscordAgent.discord.data.DiscGlobalData;
+import com.discord.LocalAIDiscordAgent.llm.llmChains.service.LLMChainService;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
+import com.discord.LocalAIDiscordAgent.successHandler.ProcessChatClient;
+import com.discord.LocalAIDiscordAgent.user.model.UserEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many conversations replying at once through the real LLMChatService, with a stub ChatModel in place of
+ * Ollama. The assertions only count concurrent model calls, never elapsed time.
+ */
+public class TestLLMChatServiceLoad {
+
+    private static final int CONVERSATIONS = 200;
+    private static final int PLATFORM_LLM_THREADS = 16;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicInteger gateTimeouts = new AtomicInteger();
+
+    private BlockingSchedulers schedulers;
+
+    @AfterEach
+    void tearDown() {
+        if (schedulers != null) {
+            schedulers.dispose();
+        }
+    }
+
+    @Test
+    void givenPlatformThreads_whenManyConversationsReply_thenModelCallsAreCappedByPool() {
+        schedulers = newSchedulers(false);
+
+        runConversations(new StubChatModel(null));
+
+        assertThat(peakInFlight.get()).isLessThanOrEqualTo(PLATFORM_LLM_THREADS);
+    }
+
+    @Test
+    void givenVirtualThreads_whenManyConversationsReply_thenAllModelCallsAreInFlightTogether() {
+        schedulers = newSchedulers(true);
+
+        // every call waits until all conversations are inside the model, which only a pool without a cap allows
+        runConversations(new StubChatModel(new CountDownLatch(CONVERSATIONS)));
+
+        assertThat(gateTimeouts.get()).isZero();
+        assertThat(peakInFlight.get()).isEqualTo(CONVERSATIONS);
+    }
+
+    private void runConversations(ChatModel chatModel) {
+        LLMChatService service = new LLMChatService(
+                new StubChainService(),
+                ChatClient.create(chatModel),
+                new DiscardingProcessChatClient(schedulers),
+                schedulers
+        );
+
+        List<String> replies = Flux.range(0, CONVERSATIONS)
+                .flatMap(i -> service.generateLLMResponse(null, conversation(i), false), CONVERSATIONS)
+                .collectList()
+                .block(Duration.ofMinutes(2));
+
+        assertThat(replies).hasSize(CONVERSATIONS).containsOnly("hi");
+    }
+
+    private static DiscGlobalData conversation(int i) {
+        String id = Integer.toString(i + 1);
+        return new DiscGlobalData(id, "guild", "user-" + id, "channel", "global", "hello " + id, "nick", id, "group");
+    }
+
+    private static BlockingSchedulers newSchedulers(boolean virtualThreads) {
+        return new BlockingSchedulers(virtualThreads, PLATFORM_LLM_THREADS, PLATFORM_LLM_THREADS, PLATFORM_LLM_THREADS, CONVERSATIONS * 2);
+    }
+
+    /**
+     * Blocks like an Ollama call: briefly, or on {@code gate} until every conversation has arrived.
+     */
+    private class StubChatModel implements ChatModel {
+
+        private final CountDownLatch gate;
+
+        StubChatModel(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (gate == null) {
+                    Thread.sleep(20);
+                } else {
+                    gate.countDown();
+                    if (!gate.await(30, TimeUnit.SECONDS)) {
+                        gateTimeouts.incrementAndGet();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return new ChatResponse(List.of(new Generation(new AssistantMessage("hi"))));
+        }
+    }
+
+    private static class StubChainService extends LLMChainService {
+
+        StubChainService() {
+            super(null, null);
+        }
+
+        @Override
+        public Mono<String> getSystemPromptAsJson(DiscGlobalData discGlobalData, boolean requiresContext) {
+            return Mono.just("{}");
+        }
+    }
+
+    private static class DiscardingProcessChatClient extends ProcessChatClient {
+
+        DiscardingProcessChatClient(BlockingSchedulers schedulers) {
+            super(null, null, null, schedulers);
+        }
+
+        @Override
+        public Mono<Void> saveInteraction(UserMessage userMessage, AssistantMessage assistantMessage, UserEntity userEntity) {
+            return Mono.empty();
+        }
+    }
+}
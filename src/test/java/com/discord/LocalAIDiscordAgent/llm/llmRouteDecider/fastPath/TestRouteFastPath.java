@@ -0,0 +1,56 @@
+package com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.fastPath;
+
+import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision;
+import com.discord.LocalAIDiscordAgent.llm.llmRouteDecider.records.RouteDecision.Mode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestRouteFastPath {
+
+    @Test
+    void givenObviousMessages_whenMatchingRules_thenRoutedWithoutLlm() {
+        assertThat(RouteRules.match("thanks!").mode()).isEqualTo(Mode.TEXT);
+        assertThat(RouteRules.match("hey bot").mode()).isEqualTo(Mode.TEXT);
+
+        RouteDecision image = RouteRules.match("Please draw me a picture of a cat in a spacesuit");
+        assertThat(image.mode()).isEqualTo(Mode.IMAGE);
+        assertThat(image.normalizedPrompt()).isEqualTo("a cat in a spacesuit");
+
+        assertThat(RouteRules.match("make a short video of waves at sunset").mode()).isEqualTo(Mode.VIDEO);
+        assertThat(RouteRules.match("can you compose a song about rainy mondays").mode()).isEqualTo(Mode.MUSIC);
+    }
+
+    @Test
+    void givenAmbiguousMessages_whenMatchingRules_thenFallThrough() {
+        assertThat(RouteRules.match("how do I make a video in premiere?")).isNull();
+        assertThat(RouteRules.match("draw a conclusion from these numbers")).isNull();
+        assertThat(RouteRules.match("compose an email to my landlord")).isNull();
+        assertThat(RouteRules.match("thanks, but why does the build fail?")).isNull();
+    }
+
+    @Test
+    void givenLoggedDecisions_whenTrained_thenClassifierSeparatesModes() {
+        List<CharNgramClassifier.Sample> samples = new ArrayList<>();
+        String[] topics = {"cats", "the ocean", "a city at night", "mountains", "robots", "a forest", "space", "dragons"};
+        for (String topic : topics) {
+            samples.add(new CharNgramClassifier.Sample("i want a wallpaper with " + topic, "IMAGE:false"));
+            samples.add(new CharNgramClassifier.Sample("show me what " + topic + " would look like as art", "IMAGE:false"));
+            samples.add(new CharNgramClassifier.Sample("explain why " + topic + " are interesting", "TEXT:true"));
+            samples.add(new CharNgramClassifier.Sample("what do you know about " + topic, "TEXT:true"));
+        }
+
+        CharNgramClassifier classifier = CharNgramClassifier.train(samples, 8, 0.2, 1e-5);
+
+        CharNgramClassifier.Prediction image = classifier.predict("i want a wallpaper with sunflowers");
+        CharNgramClassifier.Prediction text = classifier.predict("explain why sunflowers are interesting");
+
+        assertThat(image.label()).isEqualTo("IMAGE:false");
+        assertThat(text.label()).isEqualTo("TEXT:true");
+        assertThat(image.probability()).isGreaterThan(0.9);
+        assertThat(text.probability()).isGreaterThan(0.9);
+    }
+}
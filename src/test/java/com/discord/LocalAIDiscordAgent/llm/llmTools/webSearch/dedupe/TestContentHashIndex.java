@@ -0,0 +1,35 @@
+package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.dedupe;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestContentHashIndex {
+
+    @Test
+    void givenChunksDifferingOnlyInCaseAndSpacing_whenHashing_thenHashesMatch() {
+        String hash = ContentHashIndex.hash("Breaking News:\n  the market   closed higher");
+
+        assertThat(hash).hasSize(40);
+        assertThat(ContentHashIndex.hash("breaking news: the market closed higher ")).isEqualTo(hash);
+        assertThat(ContentHashIndex.hash("breaking news: the market closed lower")).isNotEqualTo(hash);
+    }
+
+    @Test
+    void givenStoredHashes_whenCheckingBloomFilter_thenNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(ContentHashIndex.hash("stored chunk " + i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain(ContentHashIndex.hash("stored chunk " + i))).isTrue();
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(ContentHashIndex.hash("new chunk " + i))) falsePositives++;
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
@@ -0,0 +1,85 @@
+package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch;
+
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.fetch.PageCache.CachedPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestPageCache {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void givenCachedPage_whenReopening_thenPageIsReadFromDisk() {
+        PageCache cache = new PageCache(true, dir.toString(), 1_000_000, 10);
+        cache.put("https://example.com/a", page("https://example.com/a", "first page"));
+        cache.close();
+
+        PageCache reopened = new PageCache(true, dir.toString(), 1_000_000, 10);
+
+        assertThat(reopened.size()).isEqualTo(1);
+        assertThat(reopened.get("https://example.com/a").text()).isEqualTo("first page");
+        assertThat(reopened.get("https://example.com/a").etag()).isEqualTo("\"v1\"");
+        assertThat(reopened.get("https://example.com/b")).isNull();
+    }
+
+    @Test
+    void givenFullCache_whenPutting_thenLeastRecentlyUsedIsEvicted() {
+        PageCache cache = new PageCache(true, dir.toString(), 1_000_000, 2);
+
+        cache.put("https://example.com/a", page("https://example.com/a", "a"));
+        cache.put("https://example.com/b", page("https://example.com/b", "b"));
+        cache.get("https://example.com/a");
+        cache.put("https://example.com/c", page("https://example.com/c", "c"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("https://example.com/a")).isNotNull();
+        assertThat(cache.get("https://example.com/b")).isNull();
+        assertThat(cache.get("https://example.com/c")).isNotNull();
+    }
+
+    @Test
+    void givenUnindexedPageFiles_whenOpening_thenTheyAreDeleted() throws IOException {
+        PageCache cache = new PageCache(true, dir.toString(), 1_000_000, 10);
+        cache.put("https://example.com/a", page("https://example.com/a", "a"));
+        cache.close();
+        Files.writeString(dir.resolve("0".repeat(64) + ".json"), "{}");
+        Files.writeString(dir.resolve("crashed.tmp"), "{}");
+
+        new PageCache(true, dir.toString(), 1_000_000, 10).close();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                    .hasSize(2)
+                    .contains("index.bin")
+                    .noneMatch(name -> name.startsWith("0000") || name.endsWith(".tmp"));
+        }
+
+        // a different slot count resets the index, so the remaining page is unindexed too
+        PageCache resized = new PageCache(true, dir.toString(), 1_000_000, 20);
+
+        assertThat(resized.get("https://example.com/a")).isNull();
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.map(file -> file.getFileName().toString())).containsExactly("index.bin");
+        }
+    }
+
+    @Test
+    void givenEquivalentUrls_whenNormalizing_thenKeysMatch() {
+        assertThat(PageTextReader.normalizeUrl("HTTPS://Example.com:443#top"))
+                .isEqualTo(PageTextReader.normalizeUrl("https://example.com/"));
+        assertThat(PageTextReader.normalizeUrl("https://example.com/a?q=1"))
+                .isNotEqualTo(PageTextReader.normalizeUrl("https://example.com/a?q=2"));
+    }
+
+    private static CachedPage page(String url, String text) {
+        return new CachedPage(url, "text/html", "title", "", text, "\"v1\"", null, Long.MAX_VALUE);
+    }
+}
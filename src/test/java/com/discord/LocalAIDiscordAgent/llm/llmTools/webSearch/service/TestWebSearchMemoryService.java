@@ -0,0 +1,150 @@
+package com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.service;
+
+import com.discord.LocalAIDiscordAgent.llm.llmTools.webSearch.dedupe.ContentHashIndex;
+import com.discord.LocalAIDiscordAgent.memory.ragMemory.webQAMemory.repository.WebContentHashRepository;
+import com.discord.LocalAIDiscordAgent.memory.ragMemory.webQAMemory.repository.WebQAVectorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestWebSearchMemoryService {
+
+    private static final String MARKETS = "Stock markets closed higher on Friday as investors weighed the latest "
+            + "inflation figures, with technology shares leading the gains across the major indexes for the week.";
+
+    private static final String WEATHER = "A strong cold front is expected to bring heavy rain and gusty winds to the "
+            + "coast over the weekend, and forecasters advise residents to prepare for possible local flooding.";
+
+    private final List<List<String>> embedCalls = new ArrayList<>();
+    private final FakeContentHashRepository hashRepository = new FakeContentHashRepository();
+    private final FakeVectorRepository vectorRepository = new FakeVectorRepository();
+
+    private final WebSearchMemoryService service = new WebSearchMemoryService(
+            null,
+            new StubEmbeddingModel(),
+            vectorRepository,
+            new ContentHashIndex(hashRepository, true, 1_000, 0.01)
+    );
+
+    @Test
+    void givenKnownAndRepeatedChunks_whenSaving_thenOnlyNewChunksAreEmbedded() {
+        service.saveWebSearchResults(List.of(searchResults(result("https://a.example/markets", MARKETS))));
+        assertThat(embedCalls).hasSize(1);
+        assertThat(embedCalls.get(0)).hasSize(1);
+
+        service.saveWebSearchResults(List.of(
+                searchResults(result("https://b.example/markets", MARKETS)),
+                searchResults(
+                        result("https://a.example/weather", WEATHER),
+                        result("https://b.example/weather", WEATHER)
+                )
+        ));
+
+        assertThat(embedCalls).hasSize(2);
+        assertThat(embedCalls.get(1)).hasSize(1);
+        assertThat(embedCalls.get(1).get(0)).contains("cold front").doesNotContain("Stock markets");
+        assertThat(hashRepository.stored).hasSize(2);
+        assertThat(vectorRepository.inserted).extracting(document -> document.getMetadata().get("url"))
+                .containsExactly("https://a.example/markets", "https://a.example/weather");
+    }
+
+    private static String searchResults(String... results) {
+        return """
+                {"type":"SEARCH_RESULTS","query":"news","status":"OK","count":%d,"results":[%s]}
+                """.formatted(results.length, String.join(",", results));
+    }
+
+    private static String result(String url, String excerpt) {
+        return """
+                {"rank":1,"title":"Today","url":"%s","snippet":"","excerpt":"%s"}
+                """.formatted(url, excerpt);
+    }
+
+    private class StubEmbeddingModel implements EmbeddingModel {
+
+        private int embedded;
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            embedCalls.add(request.getInstructions());
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                // one-hot vectors, so no two texts are near duplicates of each other
+                float[] vector = new float[dimensions()];
+                vector[embedded++ % vector.length] = 1f;
+                embeddings.add(new Embedding(vector, i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return embed(document.getText());
+        }
+
+        @Override
+        public int dimensions() {
+            return 16;
+        }
+    }
+
+    private static class FakeContentHashRepository extends WebContentHashRepository {
+
+        private final Set<String> stored = new HashSet<>();
+
+        FakeContentHashRepository() {
+            super(null, null);
+        }
+
+        @Override
+        public Set<String> findExisting(Collection<String> hashes) {
+            Set<String> existing = new HashSet<>(hashes);
+            existing.retainAll(stored);
+            return existing;
+        }
+
+        @Override
+        public void forEachHash(Consumer<String> consumer) {
+            stored.forEach(consumer);
+        }
+
+        @Override
+        public void insertAll(List<ContentHash> hashes) {
+            hashes.forEach(hash -> stored.add(hash.hash()));
+        }
+    }
+
+    private static class FakeVectorRepository extends WebQAVectorRepository {
+
+        private final List<Document> inserted = new ArrayList<>();
+
+        FakeVectorRepository() {
+            super(null);
+        }
+
+        @Override
+        public double[] nearestDistances(String tier, List<float[]> vectors) {
+            double[] distances = new double[vectors.size()];
+            Arrays.fill(distances, Double.NaN);
+            return distances;
+        }
+
+        @Override
+        public void insertAll(List<Document> documents, List<float[]> vectors) {
+            inserted.addAll(documents);
+        }
+    }
+}
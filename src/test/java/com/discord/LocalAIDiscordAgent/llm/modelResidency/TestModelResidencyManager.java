@@ -0,0 +1,121 @@
+package com.discord.LocalAIDiscordAgent.llm.modelResidency;
+
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestModelResidencyManager {
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private HttpServer ollamaStub;
+    private BlockingSchedulers schedulers;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        ollamaStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        ollamaStub.createContext("/api/generate", exchange -> {
+            requests.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        ollamaStub.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        ollamaStub.stop(0);
+        if (schedulers != null) {
+            schedulers.dispose();
+        }
+    }
+
+    @Test
+    void givenSingleSlot_whenSwitchingModels_thenIdleModelIsUnloaded() {
+        ModelResidencyManager manager = newManager(1);
+
+        manager.callWith("model-a", () -> "first");
+        manager.callWith("model-a", () -> "second");
+        manager.callWith("model-b", () -> "third");
+
+        ModelResidencyManager.ResidencyMetrics metrics = manager.metrics();
+        assertThat(metrics.loads()).isEqualTo(2);
+        assertThat(metrics.unloads()).isEqualTo(1);
+        assertThat(metrics.residentModels()).containsExactly("model-b");
+        assertThat(requests).containsExactly("{\"model\":\"model-a\",\"keep_alive\":0}");
+    }
+
+    @Test
+    void givenFreeSlot_whenSwitchingModels_thenBothStayResident() {
+        ModelResidencyManager manager = newManager(2);
+
+        manager.callWith("model-a", () -> "first");
+        manager.callWith("model-b", () -> "second");
+
+        assertThat(manager.metrics().unloads()).isZero();
+        assertThat(manager.metrics().residentModels()).containsExactlyInAnyOrder("model-a", "model-b");
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    void givenBusySlot_whenWaitTimesOut_thenCallRunsUnmanaged() throws Exception {
+        ModelResidencyManager manager = newManager(1, 100);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> manager.callWith("model-a", () -> {
+            holding.countDown();
+            await(done);
+            return "held";
+        }));
+        await(holding);
+
+        assertThat(manager.callWith("model-b", () -> "unmanaged")).isEqualTo("unmanaged");
+        done.countDown();
+
+        assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo("held");
+        assertThat(manager.metrics().waitTimeouts()).isEqualTo(1);
+        assertThat(manager.metrics().residentModels()).containsExactly("model-a");
+    }
+
+    @Test
+    void givenModelsStillNeeded_whenPrefetching_thenSlotIsLeftForThem() {
+        schedulers = new BlockingSchedulers(false, 1, 1, 1, 10);
+        ModelResidencyManager manager = newManager(2, 1_000);
+
+        manager.prefetch("model-text", "model-structured", "model-tool");
+        assertThat(manager.metrics().residentModels()).isEmpty();
+
+        manager.prefetch("model-text", "model-structured");
+        assertThat(manager.metrics().residentModels()).containsExactly("model-text");
+    }
+
+    private ModelResidencyManager newManager(int maxResidentModels) {
+        return newManager(maxResidentModels, 1_000);
+    }
+
+    private ModelResidencyManager newManager(int maxResidentModels, long maxWaitMillis) {
+        String baseUrl = "http://localhost:" + ollamaStub.getAddress().getPort();
+        return new ModelResidencyManager(true, baseUrl, "10m", maxResidentModels, 4, maxWaitMillis, schedulers);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
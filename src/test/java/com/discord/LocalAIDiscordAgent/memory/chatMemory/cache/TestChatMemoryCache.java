@@ -0,0 +1,177 @@
+package com.discord.LocalAIDiscordAgent.memory.chatMemory.cache;
+
+import com.discord.LocalAIDiscordAgent.memory.chatMemory.recentChatMemory.model.RecentChatMemory;
+import com.discord.LocalAIDiscordAgent.user.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestChatMemoryCache {
+
+    private static final String CONVERSATION = "channel-1";
+
+    private final List<RecentChatMemory> stored = new CopyOnWriteArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @Test
+    void givenWriteFlushedDuringColdLoad_whenReading_thenWriteIsInBuffer() {
+        RecentChatMemory message = message("hello", 1);
+        TestCache cache = new TestCache(during -> during.flushPending());
+        cache.append(CONVERSATION, List.of(message));
+
+        List<RecentChatMemory> loaded = cache.get(CONVERSATION);
+
+        assertThat(stored).containsExactly(message);
+        assertThat(loaded).containsExactly(message);
+    }
+
+    @Test
+    void givenAppendDuringColdLoad_whenLoadFinishes_thenAppendIsInBuffer() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch appended = new CountDownLatch(1);
+        TestCache cache = new TestCache(during -> {
+            loadStarted.countDown();
+            await(appended);
+        });
+
+        CompletableFuture<List<RecentChatMemory>> read = CompletableFuture.supplyAsync(() -> cache.get(CONVERSATION));
+        await(loadStarted);
+        RecentChatMemory message = message("during load", 1);
+        cache.append(CONVERSATION, List.of(message));
+        appended.countDown();
+
+        assertThat(read.get(5, TimeUnit.SECONDS)).containsExactly(message);
+        assertThat(cache.get(CONVERSATION)).containsExactly(message);
+    }
+
+    @Test
+    void givenStoredAndPendingRows_whenColdLoading_thenEachRowAppearsOnce() {
+        RecentChatMemory old = message("stored", 1);
+        old.setId(ids.incrementAndGet());
+        stored.add(old);
+
+        TestCache cache = new TestCache(during -> {
+        });
+        RecentChatMemory fresh = message("pending", 2);
+        cache.append(CONVERSATION, List.of(fresh));
+
+        assertThat(cache.get(CONVERSATION))
+                .extracting(RecentChatMemory::getContent)
+                .containsExactly("stored", "pending");
+    }
+
+    @Test
+    void givenOddCapacity_whenTrimming_thenBufferAndStoredRowsKeepTheSameWholePairs() {
+        TestCache cache = new TestCache(5, during -> {
+        });
+        cache.get(CONVERSATION);
+        for (int minute = 1; minute <= 6; minute++) {
+            cache.append(CONVERSATION, List.of(message("message " + minute, minute)));
+        }
+        cache.flushPending();
+
+        assertThat(cache.get(CONVERSATION))
+                .extracting(RecentChatMemory::getContent)
+                .containsExactly("message 3", "message 4", "message 5", "message 6");
+        assertThat(cache.trimmedTo).hasValue(4);
+    }
+
+    private RecentChatMemory message(String content, int minute) {
+        return RecentChatMemory.builder()
+                .conversationId(CONVERSATION)
+                .content(content)
+                .type(MessageType.USER)
+                .timestamp(LocalDateTime.of(2025, 1, 1, 12, minute))
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private JpaRepository<RecentChatMemory, Long> fakeRepository() {
+        return (JpaRepository<RecentChatMemory, Long>) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{JpaRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "saveAll" -> {
+                        List<RecentChatMemory> saved = new ArrayList<>();
+                        for (Object row : (Iterable<?>) args[0]) {
+                            RecentChatMemory entity = (RecentChatMemory) row;
+                            entity.setId(ids.incrementAndGet());
+                            stored.add(entity);
+                            saved.add(entity);
+                        }
+                        yield saved;
+                    }
+                    case "flush" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+
+    /**
+     * Reads a copy of the stored rows, then runs {@code duringLoad} before returning them, like a slow
+     * database read that other threads overtake.
+     */
+    private class TestCache extends ChatMemoryCache<RecentChatMemory> {
+
+        private final Consumer<TestCache> duringLoad;
+        private final AtomicInteger trimmedTo = new AtomicInteger();
+
+        TestCache(Consumer<TestCache> duringLoad) {
+            this(6, duringLoad);
+        }
+
+        TestCache(int capacity, Consumer<TestCache> duringLoad) {
+            super(fakeRepository(), new UserService(null, null, null, 10, 1000), null, capacity, 10, 50, 1000);
+            this.duringLoad = duringLoad;
+        }
+
+        @Override
+        public String metricsName() {
+            return "test-chat-memory";
+        }
+
+        @Override
+        protected List<RecentChatMemory> loadConversation(String conversationId) {
+            List<RecentChatMemory> rows = stored.stream()
+                    .filter(row -> row.getConversationId().equals(conversationId))
+                    .map(row -> RecentChatMemory.builder()
+                            .id(row.getId())
+                            .conversationId(row.getConversationId())
+                            .content(row.getContent())
+                            .type(row.getType())
+                            .timestamp(row.getTimestamp())
+                            .build())
+                    .toList();
+            duringLoad.accept(this);
+            return rows;
+        }
+
+        @Override
+        protected void trimStored(String conversationId, int limit) {
+            trimmedTo.set(limit);
+        }
+    }
+}
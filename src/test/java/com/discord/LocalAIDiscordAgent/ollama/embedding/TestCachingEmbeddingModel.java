@@ -0,0 +1,120 @@
+package com.discord.LocalAIDiscordAgent.ollama.embedding;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestCachingEmbeddingModel {
+
+    private final List<List<String>> delegateCalls = new CopyOnWriteArrayList<>();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void givenRepeatedTexts_whenEmbedding_thenEachDistinctTextReachesDelegateOnce() {
+        CachingEmbeddingModel model = heapOnly(100);
+
+        List<float[]> first = model.embed(List.of("1", "2", "1"));
+        List<float[]> second = model.embed(List.of("2", "3"));
+
+        assertThat(first.get(0)).containsExactly(1f);
+        assertThat(first.get(2)).containsExactly(1f);
+        assertThat(second.get(0)).containsExactly(2f);
+        assertThat(delegateCalls).containsExactly(List.of("1", "2"), List.of("3"));
+        assertThat(model.metrics().heapHits()).isEqualTo(1);
+        assertThat(model.metrics().misses()).isEqualTo(3);
+    }
+
+    @Test
+    void givenCachedVector_whenCallerChangesIt_thenCacheIsUnaffected() {
+        CachingEmbeddingModel model = heapOnly(100);
+
+        model.embed("1")[0] = 42f;
+
+        assertThat(model.embed("1")).containsExactly(1f);
+        assertThat(delegateCalls).hasSize(1);
+    }
+
+    @Test
+    void givenFullHeapCache_whenNewTextArrives_thenLeastRecentlyUsedIsEvicted() {
+        CachingEmbeddingModel model = heapOnly(2);
+
+        model.embed("1");
+        model.embed("2");
+        model.embed("1");
+        model.embed("3");
+        model.embed("1");
+        model.embed("2");
+
+        assertThat(delegateCalls).containsExactly(List.of("1"), List.of("2"), List.of("3"), List.of("2"));
+    }
+
+    @Test
+    void givenMappedStore_whenRestarted_thenVectorsAreServedWithoutDelegate() {
+        Path file = dir.resolve("embeddings.bin");
+        try (CachingEmbeddingModel model = mapped(file)) {
+            model.embed(List.of("1", "2"));
+        }
+        delegateCalls.clear();
+
+        try (CachingEmbeddingModel restarted = mapped(file)) {
+            assertThat(restarted.embed("2")).containsExactly(2f);
+            assertThat(restarted.metrics().mappedHits()).isEqualTo(1);
+            assertThat(restarted.metrics().mappedEntries()).isEqualTo(2);
+        }
+        assertThat(delegateCalls).isEmpty();
+    }
+
+    @Test
+    void givenDisabledCache_whenEmbedding_thenEveryCallReachesDelegate() {
+        CachingEmbeddingModel model = new CachingEmbeddingModel(new StubEmbeddingModel(), "stub", false, 100, dir.resolve("embeddings.bin"), 1, 8);
+
+        model.embed("1");
+        model.embed("1");
+
+        assertThat(delegateCalls).hasSize(2);
+    }
+
+    private CachingEmbeddingModel heapOnly(int maxEntries) {
+        return new CachingEmbeddingModel(new StubEmbeddingModel(), "stub", true, maxEntries, null, 1, 8);
+    }
+
+    private CachingEmbeddingModel mapped(Path file) {
+        return new CachingEmbeddingModel(new StubEmbeddingModel(), "stub", true, 100, file, 1, 8);
+    }
+
+    private class StubEmbeddingModel implements EmbeddingModel {
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            delegateCalls.add(request.getInstructions());
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(new float[]{Float.parseFloat(request.getInstructions().get(i))}, i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return embed(document.getText());
+        }
+
+        @Override
+        public int dimensions() {
+            return 1;
+        }
+    }
+}
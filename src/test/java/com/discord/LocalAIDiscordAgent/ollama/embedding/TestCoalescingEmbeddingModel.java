@@ -0,0 +1,102 @@
+package com.discord.LocalAIDiscordAgent.ollama.embedding;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestCoalescingEmbeddingModel {
+
+    private final List<List<String>> delegateCalls = new CopyOnWriteArrayList<>();
+
+    @Test
+    void givenConcurrentEmbeds_whenWithinWindow_thenOneBatchedCallIsFannedOut() throws Exception {
+        CoalescingEmbeddingModel model = new CoalescingEmbeddingModel(new StubEmbeddingModel(), true, 200, 32);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<float[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String text = Integer.toString(i);
+                futures.add(executor.submit(() -> model.embed(text)));
+            }
+
+            for (int i = 0; i < 8; i++) {
+                assertThat(futures.get(i).get()).containsExactly(i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(delegateCalls).hasSize(1);
+        assertThat(delegateCalls.getFirst()).hasSize(8);
+        assertThat(model.metrics().requests()).isEqualTo(8);
+        assertThat(model.metrics().batches()).isEqualTo(1);
+    }
+
+    @Test
+    void givenConcurrentSingleRequests_whenBatchFills_thenItIsSentWithoutWaitingForTheWindow() throws Exception {
+        // a window far longer than the get timeout below, so only a full batch can complete in time
+        CoalescingEmbeddingModel model = new CoalescingEmbeddingModel(new StubEmbeddingModel(), true, 60_000, 4);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<float[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String text = Integer.toString(i);
+                futures.add(executor.submit(() -> model.embed(text)));
+            }
+
+            for (int i = 0; i < 4; i++) {
+                assertThat(futures.get(i).get(10, TimeUnit.SECONDS)).containsExactly(i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(delegateCalls).hasSize(1);
+        assertThat(delegateCalls.getFirst()).containsExactlyInAnyOrder("0", "1", "2", "3");
+        assertThat(model.metrics().batches()).isEqualTo(1);
+    }
+
+    @Test
+    void givenRequestAsLargeAsMaxBatch_whenEmbedding_thenItBypassesCoalescing() {
+        CoalescingEmbeddingModel model = new CoalescingEmbeddingModel(new StubEmbeddingModel(), true, 60_000, 2);
+
+        List<float[]> vectors = model.embed(List.of("1", "2", "3"));
+
+        assertThat(vectors).hasSize(3);
+        assertThat(vectors.get(2)).containsExactly(3);
+        assertThat(delegateCalls).containsExactly(List.of("1", "2", "3"));
+    }
+
+    private class StubEmbeddingModel implements EmbeddingModel {
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            delegateCalls.add(request.getInstructions());
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(new float[]{Float.parseFloat(request.getInstructions().get(i))}, i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return embed(document.getText());
+        }
+    }
+}
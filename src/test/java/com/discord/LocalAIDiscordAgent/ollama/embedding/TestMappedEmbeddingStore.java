@@ -0,0 +1,81 @@
+package com.discord.LocalAIDiscordAgent.ollama.embedding;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMappedEmbeddingStore {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void givenStoredVectors_whenReopened_thenTheyAreReadFromTheFile() throws Exception {
+        Path file = dir.resolve("embeddings.bin");
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(file, 2, 4)) {
+            store.put(key(1), new float[]{1f, 2f});
+            store.put(key(2), new float[]{3f, 4f});
+        }
+
+        try (MappedEmbeddingStore reopened = MappedEmbeddingStore.open(file, 2, 4)) {
+            assertThat(reopened.size()).isEqualTo(2);
+            assertThat(reopened.get(key(1))).containsExactly(1f, 2f);
+            assertThat(reopened.get(key(2))).containsExactly(3f, 4f);
+        }
+    }
+
+    @Test
+    void givenFullRing_whenPutting_thenOldestSlotIsOverwrittenAcrossRestarts() throws Exception {
+        Path file = dir.resolve("embeddings.bin");
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(file, 1, 2)) {
+            store.put(key(1), new float[]{1f});
+            store.put(key(2), new float[]{2f});
+            store.put(key(3), new float[]{3f});
+
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.get(key(1))).isNull();
+            assertThat(store.get(key(3))).containsExactly(3f);
+        }
+
+        // the write position is persisted, so the next put replaces key 2, not key 3
+        try (MappedEmbeddingStore reopened = MappedEmbeddingStore.open(file, 1, 2)) {
+            reopened.put(key(4), new float[]{4f});
+
+            assertThat(reopened.get(key(2))).isNull();
+            assertThat(reopened.get(key(3))).containsExactly(3f);
+            assertThat(reopened.get(key(4))).containsExactly(4f);
+        }
+    }
+
+    @Test
+    void givenExistingKeyOrWrongLength_whenPutting_thenStoreIsUnchanged() throws Exception {
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(dir.resolve("embeddings.bin"), 2, 4)) {
+            store.put(key(1), new float[]{1f, 2f});
+            store.put(key(1), new float[]{9f, 9f});
+            store.put(key(2), new float[]{1f});
+
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.get(key(1))).containsExactly(1f, 2f);
+        }
+    }
+
+    @Test
+    void givenDifferentDimensions_whenReopened_thenStoreStartsEmpty() throws Exception {
+        Path file = dir.resolve("embeddings.bin");
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(file, 2, 4)) {
+            store.put(key(1), new float[]{1f, 2f});
+        }
+
+        try (MappedEmbeddingStore reopened = MappedEmbeddingStore.open(file, 3, 4)) {
+            assertThat(reopened.size()).isZero();
+            assertThat(reopened.get(key(1))).isNull();
+        }
+    }
+
+    private static String key(int i) {
+        return String.format("%064x", i);
+    }
+}
@@ -0,0 +1,81 @@
+package com.discord.LocalAIDiscordAgent.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestBlockingSchedulers {
+
+    private static final int THREADS = 4;
+
+    private BlockingSchedulers schedulers;
+
+    @AfterEach
+    void tearDown() {
+        if (schedulers != null) {
+            schedulers.dispose();
+        }
+    }
+
+    @Test
+    void givenBlockingCall_whenRunOnNonBlockingThread_thenBlockHoundFails() {
+        Mono<Integer> blocking = Mono.fromCallable(TestBlockingSchedulers::sleepAndReturn)
+                .subscribeOn(Schedulers.parallel());
+
+        assertThatThrownBy(() -> blocking.block(Duration.ofSeconds(5)))
+                .hasCauseInstanceOf(BlockingOperationError.class);
+    }
+
+    @Test
+    void givenBlockingCall_whenRunOnResourceScheduler_thenItIsAllowed() {
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            schedulers = new BlockingSchedulers(virtualThreads, THREADS, THREADS, THREADS, 100);
+
+            assertThat(Mono.fromCallable(TestBlockingSchedulers::sleepAndReturn)
+                    .subscribeOn(schedulers.database())
+                    .block(Duration.ofSeconds(5))).isEqualTo(1);
+            assertThat(Mono.fromCallable(TestBlockingSchedulers::sleepAndReturn)
+                    .subscribeOn(schedulers.llm())
+                    .block(Duration.ofSeconds(5))).isEqualTo(1);
+            assertThat(Mono.fromCallable(TestBlockingSchedulers::sleepAndReturn)
+                    .subscribeOn(schedulers.http())
+                    .block(Duration.ofSeconds(5))).isEqualTo(1);
+
+            schedulers.dispose();
+        }
+        schedulers = null;
+    }
+
+    @Test
+    void givenVirtualThreads_whenSchedulingPeriodically_thenEverySchedulerRunsTheTaskRepeatedly() throws InterruptedException {
+        schedulers = new BlockingSchedulers(true, THREADS, THREADS, THREADS, 100);
+
+        for (Scheduler scheduler : List.of(schedulers.database(), schedulers.llm(), schedulers.http())) {
+            CountDownLatch runs = new CountDownLatch(3);
+            Disposable periodic = scheduler.schedulePeriodically(() -> {
+                assertThat(Thread.currentThread().isVirtual()).isTrue();
+                runs.countDown();
+            }, 10, 10, TimeUnit.MILLISECONDS);
+
+            assertThat(runs.await(5, TimeUnit.SECONDS)).isTrue();
+            periodic.dispose();
+        }
+    }
+
+    private static int sleepAndReturn() throws InterruptedException {
+        Thread.sleep(10);
+        return 1;
+    }
+}
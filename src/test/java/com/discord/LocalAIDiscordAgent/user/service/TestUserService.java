@@ -0,0 +1,105 @@
+package com.discord.LocalAIDiscordAgent.user.service;
+
+import com.discord.LocalAIDiscordAgent.discord.data.DiscGlobalData;
+import com.discord.LocalAIDiscordAgent.scheduling.BlockingSchedulers;
+import com.discord.LocalAIDiscordAgent.user.model.UserEntity;
+import com.discord.LocalAIDiscordAgent.user.repository.UserUpsertRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BlockHound is installed for the whole test run, so any blocking call inside resolveUser fails these
+ * tests when it runs on a non-blocking thread.
+ */
+public class TestUserService {
+
+    private static final long FLUSH_INTERVAL_MILLIS = 50;
+
+    private final RecordingUpsertRepository upsertRepository = new RecordingUpsertRepository();
+    private final BlockingSchedulers schedulers = new BlockingSchedulers(false, 1, 1, 1, 100);
+    private final UserService userService =
+            new UserService(null, upsertRepository, schedulers, 10, FLUSH_INTERVAL_MILLIS);
+
+    @AfterEach
+    void tearDown() {
+        userService.stopFlusher();
+        schedulers.dispose();
+    }
+
+    @Test
+    void givenNewUser_whenResolvedOnNonBlockingThread_thenNoBlockingCallIsMade() {
+        UserEntity user = resolveOnParallel(message("nick"));
+
+        assertThat(user.getUserId()).isEqualTo(42L);
+        assertThat(user.getServerNickname()).isEqualTo("nick");
+    }
+
+    @Test
+    void givenProfileChange_whenResolvedOnNonBlockingThread_thenCachedUserIsUpdatedInPlace() {
+        UserEntity first = resolveOnParallel(message("nick"));
+        UserEntity second = resolveOnParallel(message("renamed"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getServerNickname()).isEqualTo("renamed");
+    }
+
+    @Test
+    void givenProfileChange_whenFlusherRuns_thenLatestProfileIsWrittenInOneBatch() throws InterruptedException {
+        resolveOnParallel(message("nick"));
+        resolveOnParallel(message("renamed"));
+
+        userService.startFlusher();
+
+        assertThat(upsertRepository.flushed.await(5, TimeUnit.SECONDS)).isTrue();
+        // a few more periods with nothing queued must not write again
+        Thread.sleep(FLUSH_INTERVAL_MILLIS * 4);
+
+        assertThat(upsertRepository.batches).hasSize(1);
+        assertThat(upsertRepository.batches.get(0))
+                .singleElement()
+                .satisfies(user -> {
+                    assertThat(user.getUserId()).isEqualTo(42L);
+                    assertThat(user.getServerNickname()).isEqualTo("renamed");
+                });
+        assertThat(upsertRepository.threads).allMatch(name -> name.startsWith("blocking-db"));
+    }
+
+    private UserEntity resolveOnParallel(DiscGlobalData data) {
+        return Mono.fromCallable(() -> userService.resolveUser(data))
+                .subscribeOn(Schedulers.parallel())
+                .block(Duration.ofSeconds(5));
+    }
+
+    private static DiscGlobalData message(String nickname) {
+        return new DiscGlobalData("42", "guild", "user", "channel", "global", "hello", nickname, "conversation", "group");
+    }
+
+    private static class RecordingUpsertRepository extends UserUpsertRepository {
+
+        private final List<List<UserEntity>> batches = new CopyOnWriteArrayList<>();
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+        private final CountDownLatch flushed = new CountDownLatch(1);
+
+        RecordingUpsertRepository() {
+            super(null);
+        }
+
+        @Override
+        public void upsertAll(Collection<UserEntity> users) {
+            batches.add(List.copyOf(users));
+            threads.add(Thread.currentThread().getName());
+            flushed.countDown();
+        }
+    }
+}